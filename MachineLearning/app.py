@@ -1,5 +1,5 @@
-from flask import Flask, request, jsonify
-from emotion_model import analyze_emotion
+from flask import Flask, request, jsonify, Response, stream_with_context
+from emotion_model import analyze_emotion, analyze_emotions
 import pandas as pd
 import os
 import logging
@@ -23,6 +23,7 @@ from dotenv import load_dotenv
 import numpy as np
 from collections import defaultdict
 import pickle
+from concurrent.futures import ThreadPoolExecutor
 from fun_facts_service import FunFactsService
 
 load_dotenv()  # 👈 This loads your .env file
@@ -137,48 +138,45 @@ Keep responses under 100 words, practical, and friendly."""
         return None
 
 
-def generate_openai_response_with_history(user_message, emotion, confidence, conversation_history, user_id, recent_food_logs=None):
-    """Generate an OpenAI response with conversation history, pattern awareness, and reinforcement learning"""
-    try:
-        print(f"DEBUG: Using AzureOpenAI for EMOTIONAL eating with HISTORY - emotion '{emotion}' with {confidence:.1f}% confidence")
-        
-        # Analyze conversation patterns
-        patterns = analyze_conversation_patterns(conversation_history)
-        
-        # Get reinforcement learning context
-        rl_context = rl_system.get_adaptive_response_context(user_id, emotion)
-        
-        # Build context-aware system prompt
-        history_context = ""
-        if conversation_history:
-            recent_messages = conversation_history[:6]  # Last 6 messages for context
-            history_context = "\n\nRecent conversation context:\n"
-            for msg in reversed(recent_messages):  # Show in chronological order
-                history_context += f"{msg['sender']}: {msg['message']}\n"
-        
-        # Add actual food log context
-        food_context = ""
-        if recent_food_logs and len(recent_food_logs) > 0:
-            food_context = "\n\nUser's recent food logs (use ONLY these actual foods, do NOT make up foods):\n"
-            for food_log in recent_food_logs:
-                food_context += f"- {food_log.get('food', 'Unknown')} ({food_log.get('meal_type', 'Unknown')}) at {food_log.get('time', 'Unknown')} - Emotion: {food_log.get('emotion', 'Unknown')}\n"
-        
-        pattern_context = ""
-        if patterns:
-            pattern_context = f"\n\nUser's patterns you've noticed:\n"
-            if patterns.get('common_triggers'):
-                pattern_context += f"- Common emotional triggers: {', '.join(patterns['common_triggers'])}\n"
-            if patterns.get('eating_mentions'):
-                pattern_context += f"- Often mentions food when: {', '.join(patterns['eating_mentions'])}\n"
-            if patterns.get('coping_strategies'):
-                pattern_context += f"- Responded well to: {', '.join(patterns['coping_strategies'])}\n"
-        
-        # Add reinforcement learning insights
-        learning_context = ""
-        if rl_context:
-            learning_context = f"\n\nReinforcement Learning Insights:{rl_context}"
-        
-        system_prompt = f"""You are an emotional eating support specialist for the Mood2Food app. The user is experiencing '{emotion}' emotion with {confidence:.1f}% confidence.
+def build_history_system_prompt(emotion, confidence, conversation_history, user_id, recent_food_logs=None):
+    """Build the context-aware system prompt shared by the blocking and streaming chat paths"""
+    # Analyze conversation patterns
+    patterns = analyze_conversation_patterns(conversation_history)
+    
+    # Get reinforcement learning context
+    rl_context = rl_system.get_adaptive_response_context(user_id, emotion)
+    
+    # Build context-aware system prompt
+    history_context = ""
+    if conversation_history:
+        recent_messages = conversation_history[:6]  # Last 6 messages for context
+        history_context = "\n\nRecent conversation context:\n"
+        for msg in reversed(recent_messages):  # Show in chronological order
+            history_context += f"{msg['sender']}: {msg['message']}\n"
+    
+    # Add actual food log context
+    food_context = ""
+    if recent_food_logs and len(recent_food_logs) > 0:
+        food_context = "\n\nUser's recent food logs (use ONLY these actual foods, do NOT make up foods):\n"
+        for food_log in recent_food_logs:
+            food_context += f"- {food_log.get('food', 'Unknown')} ({food_log.get('meal_type', 'Unknown')}) at {food_log.get('time', 'Unknown')} - Emotion: {food_log.get('emotion', 'Unknown')}\n"
+    
+    pattern_context = ""
+    if patterns:
+        pattern_context = f"\n\nUser's patterns you've noticed:\n"
+        if patterns.get('common_triggers'):
+            pattern_context += f"- Common emotional triggers: {', '.join(patterns['common_triggers'])}\n"
+        if patterns.get('eating_mentions'):
+            pattern_context += f"- Often mentions food when: {', '.join(patterns['eating_mentions'])}\n"
+        if patterns.get('coping_strategies'):
+            pattern_context += f"- Responded well to: {', '.join(patterns['coping_strategies'])}\n"
+    
+    # Add reinforcement learning insights
+    learning_context = ""
+    if rl_context:
+        learning_context = f"\n\nReinforcement Learning Insights:{rl_context}"
+    
+    system_prompt = f"""You are an emotional eating support specialist for the Mood2Food app. The user is experiencing '{emotion}' emotion with {confidence:.1f}% confidence.
 
 Your role: Help users identify emotional eating patterns, provide healthier coping strategies, and offer encouragement. You remember past conversations and can reference previous discussions to provide personalized support.
 
@@ -190,6 +188,17 @@ If they're stressed/sad: Offer comfort strategies that don't involve food.
 
 Always be empathetic, non-judgmental, and focus on building awareness of eating patterns.
 Keep responses under 120 words and actionable."""
+    return system_prompt
+
+
+def generate_openai_response_with_history(user_message, emotion, confidence, conversation_history, user_id, recent_food_logs=None):
+    """Generate an OpenAI response with conversation history, pattern awareness, and reinforcement learning"""
+    try:
+        print(f"DEBUG: Using AzureOpenAI for EMOTIONAL eating with HISTORY - emotion '{emotion}' with {confidence:.1f}% confidence")
+        
+        system_prompt = build_history_system_prompt(
+            emotion, confidence, conversation_history, user_id, recent_food_logs
+        )
 
         response = openai_client.chat.completions.create(
             model="gpt-4",
@@ -272,6 +281,68 @@ def home():
     return " Mood2Food Emotion Classifier is running!"
 
 
+def build_classification(reason, emotion, confidence, conversation_history, user_id, recent_food_logs):
+    """Generate the insight for an already-classified message (shared by single and batch classification)"""
+    # Since this app is for emotional eating support, default to emotional eating unless clearly practical
+    emotional_eating_keywords = [
+        'feel', 'feeling', 'emotions', 'stress', 'sad', 'angry', 'upset', 'comfort', 'craving', 
+        'want to eat because', 'emotional eating', 'patterns', 'track', 'habit', 'triggers', 
+        'mood', 'celebrate', 'bored', 'anxious', 'worried', 'frustrated', 'lonely', 'tired',
+        'pattern recognition', 'eating habits', 'food diary', 'daily meals', 'what i eat',
+        'help me', 'support', 'guidance', 'understand myself', 'improve', 'recognize'
+    ]
+    
+    # Only treat as practical nutrition if clearly asking about specific nutrition facts
+    practical_keywords = [
+        'calories in', 'nutrition facts', 'vitamins', 'protein content', 'carbs in',
+        'how many calories', 'nutritional value', 'is [food] healthy', 'ingredients',
+        'recipe', 'cooking', 'preparation'
+    ]
+    
+    is_practical_nutrition = any(word in reason.lower() for word in practical_keywords)
+    
+    # Generate OpenAI response: Use history-aware version for better personalization
+    if is_practical_nutrition:
+        openai_response = generate_practical_response(reason)
+    else:
+        # Use context-aware response with conversation history and actual food logs
+        openai_response = generate_openai_response_with_history(
+            reason, emotion, confidence*100, conversation_history, user_id, recent_food_logs
+        )
+    
+    # Use OpenAI response if successful, otherwise use enhanced fallback
+    if openai_response:
+        insight = openai_response
+    else:
+        # Enhanced emotional eating support responses
+        emotion_responses = {
+            'joy': "That's wonderful! Let's celebrate this positive moment in ways that nourish your body and soul. Consider a walk in nature, calling a friend, or treating yourself to a relaxing activity rather than food.",
+            'sadness': "I hear that you're feeling sad. It's natural to seek comfort, but let's explore some gentle alternatives. Try some deep breathing, listen to soothing music, or reach out to someone you trust.",
+            'anger': "Feeling angry can be overwhelming. Instead of turning to food, try some physical movement like stretching, journaling your thoughts, or taking a few minutes to cool down with some fresh air.",
+            'fear': "When we're anxious or worried, food can feel like a quick comfort. Let's try some grounding techniques: name 5 things you can see, 4 you can touch, 3 you can hear. This can help calm your mind.",
+            'surprise': "Unexpected emotions can catch us off guard! Take a moment to acknowledge what you're feeling. Sometimes a few deep breaths or a short mindful pause can help you respond rather than react.",
+            'neutral': "It sounds like you're in a calm space right now. This is a great time to check in with yourself - are you eating because you're truly hungry, or for another reason? Trust your body's signals."
+        }
+        
+        insight = emotion_responses.get(emotion.lower(), 
+            f"I notice you're experiencing {emotion.lower()} feelings. Emotional eating is very common - you're not alone in this. Let's focus on understanding what you truly need right now. Is it comfort, energy, celebration, or something else?")
+
+    return {
+        "emotion": emotion,
+        "confidence": confidence*100,
+        "insight": insight
+    }
+
+
+def log_classifications(rows):
+    """Append (reason, emotion, confidence, user_id) rows to the CSV log in one write"""
+    df = pd.read_csv(LOG_FILE)
+    for reason, emotion, confidence, user_id in rows:
+        df.loc[len(df)] = [datetime.now().isoformat(),
+                           reason, emotion, confidence*100, user_id]
+    df.to_csv(LOG_FILE, index=False)
+
+
 @app.route("/classify-emotion", methods=["POST"])
 @limiter.limit("10 per minute")
 def classify():
@@ -289,68 +360,121 @@ def classify():
         # Analyze emotion using Hugging Face model
         emotion, confidence = analyze_emotion(reason)
 
-        # Since this app is for emotional eating support, default to emotional eating unless clearly practical
-        emotional_eating_keywords = [
-            'feel', 'feeling', 'emotions', 'stress', 'sad', 'angry', 'upset', 'comfort', 'craving', 
-            'want to eat because', 'emotional eating', 'patterns', 'track', 'habit', 'triggers', 
-            'mood', 'celebrate', 'bored', 'anxious', 'worried', 'frustrated', 'lonely', 'tired',
-            'pattern recognition', 'eating habits', 'food diary', 'daily meals', 'what i eat',
-            'help me', 'support', 'guidance', 'understand myself', 'improve', 'recognize'
-        ]
-        
-        # Only treat as practical nutrition if clearly asking about specific nutrition facts
-        practical_keywords = [
-            'calories in', 'nutrition facts', 'vitamins', 'protein content', 'carbs in',
-            'how many calories', 'nutritional value', 'is [food] healthy', 'ingredients',
-            'recipe', 'cooking', 'preparation'
-        ]
-        
-        is_practical_nutrition = any(word in reason.lower() for word in practical_keywords)
-        
-        # Generate OpenAI response: Use history-aware version for better personalization
-        if is_practical_nutrition:
-            openai_response = generate_practical_response(reason)
-        else:
-            # Use context-aware response with conversation history and actual food logs
-            openai_response = generate_openai_response_with_history(
-                reason, emotion, confidence*100, conversation_history, user_id, recent_food_logs
-            )
-        
-        # Use OpenAI response if successful, otherwise use enhanced fallback
-        if openai_response:
-            insight = openai_response
-        else:
-            # Enhanced emotional eating support responses
-            emotion_responses = {
-                'joy': "That's wonderful! Let's celebrate this positive moment in ways that nourish your body and soul. Consider a walk in nature, calling a friend, or treating yourself to a relaxing activity rather than food.",
-                'sadness': "I hear that you're feeling sad. It's natural to seek comfort, but let's explore some gentle alternatives. Try some deep breathing, listen to soothing music, or reach out to someone you trust.",
-                'anger': "Feeling angry can be overwhelming. Instead of turning to food, try some physical movement like stretching, journaling your thoughts, or taking a few minutes to cool down with some fresh air.",
-                'fear': "When we're anxious or worried, food can feel like a quick comfort. Let's try some grounding techniques: name 5 things you can see, 4 you can touch, 3 you can hear. This can help calm your mind.",
-                'surprise': "Unexpected emotions can catch us off guard! Take a moment to acknowledge what you're feeling. Sometimes a few deep breaths or a short mindful pause can help you respond rather than react.",
-                'neutral': "It sounds like you're in a calm space right now. This is a great time to check in with yourself - are you eating because you're truly hungry, or for another reason? Trust your body's signals."
-            }
-            
-            insight = emotion_responses.get(emotion.lower(), 
-                f"I notice you're experiencing {emotion.lower()} feelings. Emotional eating is very common - you're not alone in this. Let's focus on understanding what you truly need right now. Is it comfort, energy, celebration, or something else?")
+        result = build_classification(
+            reason, emotion, confidence, conversation_history, user_id, recent_food_logs
+        )
 
         # Log to CSV with user context
-        df = pd.read_csv(LOG_FILE)
-        df.loc[len(df)] = [datetime.now().isoformat(),
-                           reason, emotion, confidence*100, user_id]
-        df.to_csv(LOG_FILE, index=False)
+        log_classifications([(reason, emotion, confidence, user_id)])
 
         # Return JSON response with AI-generated insight
-        return jsonify({
-            "emotion": emotion,
-            "confidence": confidence*100,
-            "insight": insight
-        })
+        return jsonify(result)
 
     except Exception as e:
         logging.error(f"Error in classify: {str(e)}")
         return jsonify({"error": str(e)}), 500
 
 
+@app.route("/classify-emotion/batch", methods=["POST"])
+@limiter.limit("60 per minute")
+def classify_batch():
+    """Classify many messages at once: one batched model pass, insights generated concurrently"""
+    try:
+        data = request.get_json()
+        items = data.get("requests", [])
+        if not items:
+            return jsonify({"results": []})
+
+        # Items without a reason get an error result, the rest go through the model together
+        valid = [i for i, item in enumerate(items) if item.get("reason")]
+        predictions = analyze_emotions([items[i]["reason"] for i in valid]) if valid else []
+
+        results = [{"error": "Missing 'reason' field"} for _ in items]
+        with ThreadPoolExecutor(max_workers=min(8, max(1, len(valid)))) as executor:
+            futures = {}
+            for i, (emotion, confidence) in zip(valid, predictions):
+                item = items[i]
+                futures[i] = executor.submit(
+                    build_classification,
+                    item["reason"], emotion, confidence,
+                    item.get("conversation_history", []),
+                    item.get("user_id", ""),
+                    item.get("recent_food_logs", [])
+                )
+            for i, future in futures.items():
+                try:
+                    results[i] = future.result()
+                except Exception as e:
+                    logging.error(f"Error in classify_batch item {i}: {str(e)}")
+                    results[i] = {"error": str(e)}
+
+        log_classifications([
+            (items[i]["reason"], emotion, confidence, items[i].get("user_id", ""))
+            for i, (emotion, confidence) in zip(valid, predictions)
+        ])
+
+        return jsonify({"results": results})
+
+    except Exception as e:
+        logging.error(f"Error in classify_batch: {str(e)}")
+        return jsonify({"error": str(e)}), 500
+
+
+@app.route("/classify-emotion/stream", methods=["POST"])
+@limiter.limit("10 per minute")
+def classify_stream():
+    """Same as /classify-emotion, but streams the insight as Server-Sent Events while GPT generates it"""
+    data = request.get_json()
+    reason = data.get("reason", "")
+    conversation_history = data.get("conversation_history", [])
+    user_id = data.get("user_id", "")
+    recent_food_logs = data.get("recent_food_logs", [])
+
+    if not reason:
+        return jsonify({"error": "Missing 'reason' field"}), 400
+
+    emotion, confidence = analyze_emotion(reason)
+
+    def sse(payload):
+        return f"data: {json.dumps(payload)}\n\n"
+
+    def generate():
+        # Emotion is known before generation starts, so send it first
+        yield sse({"emotion": emotion, "confidence": confidence*100})
+        streamed = False
+        try:
+            system_prompt = build_history_system_prompt(
+                emotion, confidence*100, conversation_history, user_id, recent_food_logs
+            )
+            stream = openai_client.chat.completions.create(
+                model="gpt-4",
+                messages=[
+                    {"role": "system", "content": system_prompt},
+                    {"role": "user", "content": reason}
+                ],
+                max_tokens=300,
+                temperature=0.7,
+                stream=True
+            )
+            for chunk in stream:
+                if chunk.choices and chunk.choices[0].delta and chunk.choices[0].delta.content:
+                    streamed = True
+                    yield sse({"token": chunk.choices[0].delta.content})
+        except Exception as e:
+            logging.error(f"Error in classify_stream: {str(e)}")
+
+        if not streamed:
+            # Let the caller fall back to its own emotion-based reply
+            yield sse({"token": ""})
+
+        # Log to CSV with user context
+        log_classifications([(reason, emotion, confidence, user_id)])
+
+        yield sse({"done": True})
+
+    return Response(stream_with_context(generate()), mimetype="text/event-stream")
+
+
 @app.route("/patterns", methods=["GET"])
 @limiter.limit("10 per minute")
 def get_patterns():
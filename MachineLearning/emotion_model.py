@@ -7,4 +7,9 @@ def analyze_emotion(text):
     results = classifier(text)
     print("DEBUG:", results)  # See what's coming back
     top_result = results[0]   # first result in the list
-    return top_result["label"], top_result["score"]
\ No newline at end of file
+    return top_result["label"], top_result["score"]
+
+def analyze_emotions(texts):
+    """Classify a list of texts in one batched model call, returning (label, score) per text"""
+    results = classifier(list(texts), batch_size=len(texts))
+    return [(result["label"], result["score"]) for result in results]
@@ -0,0 +1,76 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Throughput of FoodLogAnalyzer over a student's history. Run with {@code -prof gc}
+ * (the jmh profile's default) to also report bytes allocated per analysis.
+ * {@code coded=false} covers rows written before emotions and meal types carried
+ * vocabulary codes, which are counted by their text instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoodLogAnalyzerBenchmark {
+
+    private static final String[] EMOTIONS = {"happy", "stressed", "bored", "anxious", "sad", "tired", "calm", "excited"};
+    private static final String[] MEAL_TYPES = {"breakfast", "lunch", "dinner", "snack"};
+    private static final String[] LOCATIONS = {"home", "dining hall", "library", "cafe", "car"};
+    private static final String[] COMPANIES = {"alone", "friends", "family", "classmates"};
+
+    @Param({"1000", "10000", "100000"})
+    private int logs;
+
+    @Param({"true", "false"})
+    private boolean coded;
+
+    private List<FoodLog> foodLogs;
+
+    @Setup
+    public void setUp() {
+        // Fixed seed so every run analyzes the same history
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        foodLogs = new ArrayList<>(logs);
+        for (int i = 0; i < logs; i++) {
+            int emotion = random.nextInt(EMOTIONS.length);
+            int mealType = random.nextInt(MEAL_TYPES.length);
+            FoodLog foodLog = new FoodLog();
+            foodLog.setFoodItem("item " + random.nextInt(200));
+            foodLog.setEmotionDescription(EMOTIONS[emotion]);
+            foodLog.setMealType(MEAL_TYPES[mealType]);
+            if (coded) {
+                foodLog.setEmotionCode((short) (emotion + 1));
+                foodLog.setMealTypeCode((short) (mealType + 1));
+            }
+            foodLog.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            foodLog.setCompany(COMPANIES[random.nextInt(COMPANIES.length)]);
+            foodLog.setHungerLevel(1 + random.nextInt(10));
+            foodLog.setSatisfactionLevel(1 + random.nextInt(10));
+            foodLog.setEatingTime(start.plusMinutes(random.nextInt(60 * 24 * 365)));
+            foodLogs.add(foodLog);
+        }
+    }
+
+    @Benchmark
+    public FoodLogFeatures analyze() {
+        return FoodLogAnalyzer.analyze(foodLogs);
+    }
+}
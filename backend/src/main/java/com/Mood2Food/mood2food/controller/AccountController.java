@@ -0,0 +1,60 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.service.ChatHistoryBuffer;
+import com.Mood2Food.mood2food.service.DataPurgeService;
+import com.Mood2Food.mood2food.service.EatingEventCache;
+import com.Mood2Food.mood2food.service.FoodLogSuggestionIndex;
+import com.Mood2Food.mood2food.service.MlResultCache;
+import com.Mood2Food.mood2food.service.StudentDataVersion;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/account")
+public class AccountController {
+
+    @Autowired
+    private DataPurgeService dataPurgeService;
+
+    @Autowired
+    private ChatHistoryBuffer chatHistoryBuffer;
+
+    @Autowired
+    private MlResultCache mlResultCache;
+
+    @Autowired
+    private FoodLogSuggestionIndex foodLogSuggestionIndex;
+
+    @Autowired
+    private EatingEventCache eatingEventCache;
+
+    @Autowired
+    private StudentDataVersion studentDataVersion;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    // Permanently delete the authenticated student's account and all of their data
+    @DeleteMapping
+    public ResponseEntity<?> deleteAccount(@RequestHeader("Authorization") String token) {
+        try {
+            UUID studentId = jwtUtil.extractUserId(token.substring(7));
+            Map<String, Long> deleted = dataPurgeService.purgeStudent(studentId);
+            chatHistoryBuffer.invalidate(studentId);
+            mlResultCache.invalidate(studentId);
+            foodLogSuggestionIndex.invalidate(studentId);
+            eatingEventCache.invalidate(studentId);
+            studentDataVersion.bump(studentId);
+            return ResponseEntity.ok(Map.of("message", "Account deleted successfully", "deleted", deleted));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error deleting account: " + e.getMessage()));
+        }
+    }
+}
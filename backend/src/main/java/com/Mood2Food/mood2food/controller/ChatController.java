@@ -1,22 +1,32 @@
 package com.Mood2Food.mood2food.controller;
 
+import com.Mood2Food.mood2food.dto.ChatHistoryPageResponse;
 import com.Mood2Food.mood2food.dto.ChatMessageRequest;
 import com.Mood2Food.mood2food.dto.ChatMessageResponse;
 import com.Mood2Food.mood2food.entity.ChatMessage;
 import com.Mood2Food.mood2food.entity.Student;
 import com.Mood2Food.mood2food.repository.StudentRepository;
 import com.Mood2Food.mood2food.service.ChatService;
+import com.Mood2Food.mood2food.service.MlGatewayClient;
+import com.Mood2Food.mood2food.service.MlResultCache;
 import com.Mood2Food.mood2food.util.JwtUtil;
+import com.Mood2Food.mood2food.util.KeysetCursor;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.Map;
-import org.springframework.web.client.RestTemplate;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -28,8 +38,26 @@ public class ChatController {
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private RestTemplate restTemplate;
-    private static final String mlBackendUrl = "http://localhost:10000"; // ML backend URL
+    private MlGatewayClient mlGatewayClient;
+    @Autowired
+    private MlResultCache mlResultCache;
+    @Value("${chat.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final long STREAM_SHUTDOWN_SECONDS = 10;
+
+    // Streams run off the request thread so Tomcat is not held for the whole generation
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Give in-flight streams a moment to finish and save their reply, then cut them off
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        streamExecutor.shutdown();
+        if (!streamExecutor.awaitTermination(STREAM_SHUTDOWN_SECONDS, TimeUnit.SECONDS)) {
+            streamExecutor.shutdownNow();
+        }
+    }
 
     @PostMapping("/message")
     public ResponseEntity<ChatMessageResponse> sendMessage(@RequestHeader("Authorization") String token,
@@ -40,17 +68,17 @@ public class ChatController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         Student student = studentOpt.get();
 
-        // Save user message
+        // Phase 1: persist the user message (short transaction)
         ChatMessage userMsg = new ChatMessage();
         userMsg.setStudent(student);
         userMsg.setSender("USER");
         userMsg.setMessage(request.getMessage());
         chatService.saveMessage(userMsg);
 
-        // Call ML backend with user message, student context, and chat history
+        // Phase 2: load context and call the ML backend with no connection checked out
         String botReply = chatService.getBotReply(request.getMessage(), student);
 
-        // Save bot message
+        // Phase 3: persist the bot reply (short transaction)
         ChatMessage botMsg = new ChatMessage();
         botMsg.setStudent(student);
         botMsg.setSender("BOT");
@@ -63,6 +91,52 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMessage(@RequestHeader("Authorization") String token,
+            @RequestBody ChatMessageRequest request) {
+        UUID userId = jwtUtil.extractUserId(token.substring(7));
+        Optional<Student> studentOpt = studentRepository.findById(userId);
+        if (studentOpt.isEmpty())
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        Student student = studentOpt.get();
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        streamExecutor.execute(() -> {
+            try {
+                // Persist the user message before generating, so it is kept even if the reply fails
+                ChatMessage userMsg = new ChatMessage();
+                userMsg.setStudent(student);
+                userMsg.setSender("USER");
+                userMsg.setMessage(request.getMessage());
+                chatService.saveMessage(userMsg);
+
+                // Relay tokens as they arrive; a disconnected client must not abort the reply
+                String botReply = chatService.streamBotReply(request.getMessage(), student, chunk -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("token").data(chunk));
+                    } catch (Exception ignored) {
+                    }
+                });
+
+                // Persist the reply once it is complete
+                ChatMessage botMsg = new ChatMessage();
+                botMsg.setStudent(student);
+                botMsg.setSender("BOT");
+                botMsg.setMessage(botReply);
+                chatService.saveMessage(botMsg);
+
+                ChatMessageResponse response = new ChatMessageResponse();
+                response.setReply(botReply);
+                response.setTimestamp(botMsg.getTimestamp());
+                emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
     @GetMapping("/history")
     public ResponseEntity<List<ChatMessageResponse>> getChatHistory(@RequestHeader("Authorization") String token) {
         UUID userId = jwtUtil.extractUserId(token.substring(7));
@@ -80,6 +154,43 @@ public class ChatController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/history/page")
+    public ResponseEntity<?> getChatHistoryPage(@RequestHeader("Authorization") String token,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "newest") String order) {
+        UUID userId = jwtUtil.extractUserId(token.substring(7));
+        Optional<Student> studentOpt = studentRepository.findById(userId);
+        if (studentOpt.isEmpty())
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        Student student = studentOpt.get();
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        List<ChatMessage> rows;
+        try {
+            // Fetch one extra row to know whether another page exists
+            rows = chatService.getChatHistoryPage(student, cursor, pageSize + 1, !"oldest".equalsIgnoreCase(order));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessage> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<ChatMessageResponse> messages = page.stream().map(msg -> {
+            ChatMessageResponse r = new ChatMessageResponse();
+            r.setReply(msg.getSender() + ": " + msg.getMessage());
+            r.setTimestamp(msg.getTimestamp());
+            return r;
+        }).collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            ChatMessage last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return ResponseEntity.ok(new ChatHistoryPageResponse(messages, nextCursor, hasMore));
+    }
+
     @GetMapping("/patterns")
     public ResponseEntity<?> getUserPatterns(@RequestHeader("Authorization") String token) {
         try {
@@ -88,10 +199,8 @@ public class ChatController {
             Student student = studentRepository.findByEmail(userEmail)
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
-            String patternsUrl = mlBackendUrl + "/user-patterns/" + student.getId();
-            ResponseEntity<String> response = restTemplate.getForEntity(patternsUrl, String.class);
-            
-            return ResponseEntity.ok(response.getBody());
+            return ResponseEntity.ok(mlResultCache.get("user-patterns", student.getId(),
+                    () -> mlGatewayClient.getUserPatterns(student.getId())));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error fetching user patterns: " + e.getMessage());
@@ -110,10 +219,9 @@ public class ChatController {
             // Add user_id to the request
             feedbackRequest.put("user_id", student.getId().toString());
             
-            String feedbackUrl = mlBackendUrl + "/feedback";
-            ResponseEntity<String> response = restTemplate.postForEntity(feedbackUrl, feedbackRequest, String.class);
-            
-            return ResponseEntity.ok(response.getBody());
+            String result = mlGatewayClient.sendFeedback(feedbackRequest);
+            mlResultCache.invalidate(student.getId());
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error collecting feedback: " + e.getMessage());
@@ -128,10 +236,8 @@ public class ChatController {
             Student student = studentRepository.findByEmail(userEmail)
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
-            String statsUrl = mlBackendUrl + "/learning-stats/" + student.getId();
-            ResponseEntity<String> response = restTemplate.getForEntity(statsUrl, String.class);
-            
-            return ResponseEntity.ok(response.getBody());
+            return ResponseEntity.ok(mlResultCache.get("learning-stats", student.getId(),
+                    () -> mlGatewayClient.getLearningStats(student.getId())));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error fetching learning stats: " + e.getMessage());
@@ -0,0 +1,38 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.service.CohortAnalyticsService;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics/cohort")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CohortAnalyticsController {
+
+    @Autowired
+    private CohortAnalyticsService cohortAnalyticsService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * Latest population-wide snapshot; counselors only
+     */
+    @GetMapping
+    public ResponseEntity<?> getSnapshot(@RequestHeader("Authorization") String token) {
+        try {
+            String email = jwtUtil.extractEmail(token.substring(7));
+            if (!cohortAnalyticsService.isCounselor(email)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Counselor access required"));
+            }
+            return ResponseEntity.ok(cohortAnalyticsService.getSnapshot());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
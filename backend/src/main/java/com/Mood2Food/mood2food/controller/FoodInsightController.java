@@ -44,6 +44,26 @@ public class FoodInsightController {
         }
     }
     
+    /**
+     * Get emotional eating pattern analysis over a rolling window of days
+     */
+    @GetMapping("/window")
+    public ResponseEntity<?> getWindowPatterns(@RequestHeader("Authorization") String token,
+                                               @RequestParam(defaultValue = "30") int days) {
+        try {
+            String jwt = token.substring(7);
+            UUID studentId = jwtUtil.extractUserId(jwt);
+            
+            Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+            
+            Map<String, Object> patterns = foodInsightService.analyzeWindow(student, days);
+            return ResponseEntity.ok(patterns);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Get recent food insights for chatbot context
      */
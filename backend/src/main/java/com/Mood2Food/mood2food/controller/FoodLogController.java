@@ -1,15 +1,24 @@
 package com.Mood2Food.mood2food.controller;
 
+import com.Mood2Food.mood2food.dto.FoodLogFilter;
+import com.Mood2Food.mood2food.dto.FoodLogImportResult;
+import com.Mood2Food.mood2food.dto.FoodLogPageResponse;
 import com.Mood2Food.mood2food.dto.FoodLogRequest;
 import com.Mood2Food.mood2food.dto.FoodLogResponse;
+import com.Mood2Food.mood2food.dto.FoodLogSyncResponse;
+import com.Mood2Food.mood2food.service.FoodLogImportService;
 import com.Mood2Food.mood2food.service.FoodLogService;
 import com.Mood2Food.mood2food.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +32,9 @@ public class FoodLogController {
     @Autowired
     private FoodLogService foodLogService;
     
+    @Autowired
+    private FoodLogImportService foodLogImportService;
+    
     @Autowired
     private JwtUtil jwtUtil;
     
@@ -41,6 +53,27 @@ public class FoodLogController {
         }
     }
     
+    // Bulk import: NDJSON (one food log object per line) or CSV with a header row of field names
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<?> importFoodLogs(@RequestHeader("Authorization") String token,
+                                          @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                          InputStream body) {
+        try {
+            String jwt = token.substring(7);
+            UUID studentId = jwtUtil.extractUserId(jwt);
+            
+            FoodLogImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                    ? FoodLogImportService.Format.CSV
+                    : FoodLogImportService.Format.NDJSON;
+            FoodLogImportResult result = foodLogImportService.importFoodLogs(studentId, format, body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     // Get all food logs for the authenticated user
     @GetMapping
     public ResponseEntity<?> getFoodLogs(@RequestHeader("Authorization") String token) {
@@ -55,6 +88,63 @@ public class FoodLogController {
         }
     }
     
+    // Get one page of food logs (newest first) with optional filters and a sparse field list
+    @GetMapping("/page")
+    public ResponseEntity<?> getFoodLogPage(@RequestHeader("Authorization") String token,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int limit,
+                                          @RequestParam(required = false) String mealType,
+                                          @RequestParam(required = false) String emotion,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(required = false) Integer minSatisfaction,
+                                          @RequestParam(required = false) Integer maxSatisfaction,
+                                          @RequestParam(required = false) String fields) {
+        try {
+            String jwt = token.substring(7);
+            UUID studentId = jwtUtil.extractUserId(jwt);
+            
+            FoodLogFilter filter = new FoodLogFilter(mealType, emotion, from, to, minSatisfaction, maxSatisfaction);
+            FoodLogPageResponse page = foodLogService.getFoodLogPage(studentId, filter, cursor, limit, fields);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    // Get food log changes since a sync watermark (omit since for a full sync)
+    @GetMapping("/sync")
+    public ResponseEntity<?> syncFoodLogs(@RequestHeader("Authorization") String token,
+                                        @RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        try {
+            String jwt = token.substring(7);
+            UUID studentId = jwtUtil.extractUserId(jwt);
+            
+            FoodLogSyncResponse changes = foodLogService.getFoodLogChanges(studentId, since, limit);
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    // Suggest previously logged values for foodItem, location or company as the student types
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestHeader("Authorization") String token,
+                                     @RequestParam String field,
+                                     @RequestParam(defaultValue = "") String prefix,
+                                     @RequestParam(defaultValue = "5") int limit) {
+        try {
+            String jwt = token.substring(7);
+            UUID studentId = jwtUtil.extractUserId(jwt);
+            
+            List<String> suggestions = foodLogService.suggest(studentId, field, prefix, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     // Get today's food logs
     @GetMapping("/today")
     public ResponseEntity<?> getTodayFoodLogs(@RequestHeader("Authorization") String token) {
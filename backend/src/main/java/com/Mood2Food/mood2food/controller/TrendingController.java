@@ -0,0 +1,64 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.service.TrendingSketches;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/trending")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TrendingController {
+
+    @Autowired
+    private TrendingSketches trendingSketches;
+
+    @Value("${trending.max-peer-states:16}")
+    private int maxPeerStates;
+
+    /**
+     * Top food items and emotions and active students over the last hour or day
+     */
+    @GetMapping
+    public ResponseEntity<?> getTrending(@RequestParam(defaultValue = "hour") String window,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(trendingSketches.trending(TrendingSketches.Window.parse(window), limit, List.of()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * This instance's sketch of the window, for merging with other instances
+     */
+    @GetMapping("/sketch")
+    public ResponseEntity<?> getSketch(@RequestParam(defaultValue = "hour") String window) {
+        try {
+            return ResponseEntity.ok(trendingSketches.export(TrendingSketches.Window.parse(window)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Trending results for this instance combined with sketches exported by others
+     */
+    @PostMapping("/combine")
+    public ResponseEntity<?> combine(@RequestParam(defaultValue = "hour") String window,
+                                     @RequestParam(defaultValue = "10") int limit,
+                                     @RequestBody List<TrendingSketches.State> peers) {
+        try {
+            if (peers.size() > maxPeerStates) {
+                throw new IllegalArgumentException("At most " + maxPeerStates + " sketches can be combined");
+            }
+            return ResponseEntity.ok(trendingSketches.trending(TrendingSketches.Window.parse(window), limit, peers));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
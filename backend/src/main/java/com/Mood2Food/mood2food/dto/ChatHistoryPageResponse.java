@@ -0,0 +1,13 @@
+package com.Mood2Food.mood2food.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ChatHistoryPageResponse {
+    private List<ChatMessageResponse> messages;
+    private String nextCursor; // null when there are no more messages
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.Mood2Food.mood2food.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the paginated food log listing; null means "any". The date
+ * range is inclusive on both ends.
+ */
+public record FoodLogFilter(
+        String mealType,
+        String emotion,
+        LocalDate from,
+        LocalDate to,
+        Integer minSatisfaction,
+        Integer maxSatisfaction) {
+}
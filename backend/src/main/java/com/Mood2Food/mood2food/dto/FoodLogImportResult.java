@@ -0,0 +1,13 @@
+package com.Mood2Food.mood2food.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk food log import. Rows are numbered from 1, not counting a
+ * CSV header; rows listed in errors were skipped and everything else was saved.
+ */
+public record FoodLogImportResult(int imported, int failed, List<RowError> errors) {
+
+    public record RowError(int row, String message) {
+    }
+}
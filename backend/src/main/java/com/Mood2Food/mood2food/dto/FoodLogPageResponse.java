@@ -0,0 +1,13 @@
+package com.Mood2Food.mood2food.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class FoodLogPageResponse {
+    private List<Object> foodLogs; // FoodLogResponse, or a map of the requested fields
+    private String nextCursor; // null when there are no more food logs
+    private boolean hasMore;
+}
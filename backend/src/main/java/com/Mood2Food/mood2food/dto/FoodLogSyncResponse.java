@@ -0,0 +1,16 @@
+package com.Mood2Food.mood2food.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class FoodLogSyncResponse {
+    private List<FoodLogResponse> upserts; // created or updated since the watermark, oldest change first
+    private List<UUID> deletes; // ids of food logs deleted since the watermark
+    private String watermark; // pass back as since on the next call
+    private boolean hasMore; // more changes are waiting; call again right away
+    private boolean resetRequired; // watermark is past tombstone retention; discard local data and sync from scratch
+}
@@ -7,6 +7,7 @@ import java.util.UUID;
 
 @Data
 @Entity
+@Table(indexes = @Index(name = "idx_chat_message_student_timestamp", columnList = "student_id, timestamp, id"))
 public class ChatMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
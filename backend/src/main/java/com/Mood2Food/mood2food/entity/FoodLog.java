@@ -12,7 +12,7 @@ public class FoodLog {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
     
@@ -25,6 +25,9 @@ public class FoodLog {
     @Column(name = "meal_type")
     private String mealType; // breakfast, lunch, dinner, snack
     
+    @Column(name = "meal_type_code")
+    private Short mealTypeCode; // Vocabulary code for mealType
+    
     @Column(name = "eating_time", nullable = false)
     private LocalDateTime eatingTime;
     
@@ -34,6 +37,9 @@ public class FoodLog {
     @Column(name = "emotion_description")
     private String emotionDescription; // happy, sad, angry, tired, anxious, hungry, neutral
     
+    @Column(name = "emotion_code")
+    private Short emotionCode; // Vocabulary code for emotionDescription
+    
     @Column(name = "hunger_level")
     private Integer hungerLevel; // 1-10 scale
     
@@ -102,6 +108,14 @@ public class FoodLog {
         this.mealType = mealType;
     }
     
+    public Short getMealTypeCode() {
+        return mealTypeCode;
+    }
+    
+    public void setMealTypeCode(Short mealTypeCode) {
+        this.mealTypeCode = mealTypeCode;
+    }
+    
     public LocalDateTime getEatingTime() {
         return eatingTime;
     }
@@ -126,6 +140,14 @@ public class FoodLog {
         this.emotionDescription = emotionDescription;
     }
     
+    public Short getEmotionCode() {
+        return emotionCode;
+    }
+    
+    public void setEmotionCode(Short emotionCode) {
+        this.emotionCode = emotionCode;
+    }
+    
     public Integer getHungerLevel() {
         return hungerLevel;
     }
@@ -182,6 +204,15 @@ public class FoodLog {
         this.updatedAt = updatedAt;
     }
     
+    // Stamped on persist (during save(), since ids are assigned in the app) and on
+    // the update flush, so updatedAt can be earlier than the commit. Sync stays
+    // correct because it only serves rows older than the settle window
+    // (food-log.sync.settle-ms), not because of when this runs.
+    @PrePersist
+    public void prePersist() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
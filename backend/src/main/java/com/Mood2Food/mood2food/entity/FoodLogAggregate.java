@@ -0,0 +1,35 @@
+package com.Mood2Food.mood2food.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running food-log counters for one student, stored as serialized
+ * FoodLogFeatures and updated in the same transaction as every food log write.
+ */
+@Data
+@Entity
+@Table(name = "food_log_aggregates")
+public class FoodLogAggregate {
+
+    @Id
+    @Column(name = "student_id")
+    private UUID studentId;
+
+    @Column(name = "features", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String features;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Last full recount from food_logs
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+
+    // Last build of the daily buckets; null until the first write builds them
+    @Column(name = "buckets_built_at")
+    private LocalDateTime bucketsBuiltAt;
+}
@@ -0,0 +1,45 @@
+package com.Mood2Food.mood2food.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Food-log counters for one student on one day (by eating time), stored as
+ * serialized FoodLogFeatures and updated in the same transaction as every
+ * food log write. Rolling-window insights merge a window's worth of these.
+ */
+@Data
+@Entity
+@Table(name = "food_log_daily_buckets")
+@IdClass(FoodLogDailyBucket.Key.class)
+public class FoodLogDailyBucket {
+
+    @Id
+    @Column(name = "student_id")
+    private UUID studentId;
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Column(name = "features", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String features;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID studentId;
+        private LocalDate bucketDate;
+    }
+}
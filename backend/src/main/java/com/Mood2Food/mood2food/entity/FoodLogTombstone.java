@@ -0,0 +1,27 @@
+package com.Mood2Food.mood2food.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record of a deleted food log, kept so delta sync can tell clients to drop it.
+ * Pruned after the sync retention period.
+ */
+@Data
+@Entity
+@Table(name = "food_log_tombstones")
+public class FoodLogTombstone {
+
+    @Id
+    @Column(name = "food_log_id")
+    private UUID foodLogId;
+
+    @Column(name = "student_id", nullable = false)
+    private UUID studentId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
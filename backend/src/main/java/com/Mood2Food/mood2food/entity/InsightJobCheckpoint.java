@@ -0,0 +1,40 @@
+package com.Mood2Food.mood2food.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * How far a batch job's current run has got: the last student whose chunk
+ * finished, running totals, and when the run completed (null while in progress).
+ */
+@Data
+@Entity
+@Table(name = "insight_job_checkpoints")
+public class InsightJobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "last_student_id")
+    private UUID lastStudentId;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -17,6 +17,9 @@ public class TriggerLog {
     private UUID id;
 
     private String emotion;
+
+    @Column(name = "emotion_code")
+    private Short emotionCode; // Vocabulary code for emotion
     private String situation;
     private int intensity;
 
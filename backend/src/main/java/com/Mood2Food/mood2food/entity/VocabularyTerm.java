@@ -0,0 +1,25 @@
+package com.Mood2Food.mood2food.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * One normalized value of a closed-ish vocabulary (emotions, meal types) and the
+ * small integer code rows store for it
+ */
+@Data
+@Entity
+@Table(name = "vocabulary_terms",
+       uniqueConstraints = @UniqueConstraint(name = "uk_vocabulary_terms_kind_term", columnNames = {"kind", "term"}))
+public class VocabularyTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(name = "kind", nullable = false, length = 32)
+    private String kind;
+
+    @Column(name = "term", nullable = false)
+    private String term;
+}
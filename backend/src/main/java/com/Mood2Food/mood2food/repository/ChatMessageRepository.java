@@ -2,7 +2,11 @@ package com.Mood2Food.mood2food.repository;
 
 import com.Mood2Food.mood2food.entity.ChatMessage;
 import com.Mood2Food.mood2food.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Repository;
@@ -12,4 +16,24 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID>
     List<ChatMessage> findByStudentOrderByTimestampAsc(Student student);
     List<ChatMessage> findTop10ByStudentOrderByTimestampDesc(Student student);
     long countByStudent(Student student);
+
+    // Keyset pagination on (timestamp, id), newest first
+    @Query("SELECT m FROM ChatMessage m WHERE m.student = :student ORDER BY m.timestamp DESC, m.id DESC")
+    List<ChatMessage> findFirstPageNewestFirst(@Param("student") Student student, Pageable pageable);
+
+    @Query("SELECT m FROM ChatMessage m WHERE m.student = :student AND (m.timestamp < :timestamp OR (m.timestamp = :timestamp AND m.id < :id)) ORDER BY m.timestamp DESC, m.id DESC")
+    List<ChatMessage> findPageBefore(@Param("student") Student student,
+                                     @Param("timestamp") LocalDateTime timestamp,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    // Keyset pagination on (timestamp, id), oldest first
+    @Query("SELECT m FROM ChatMessage m WHERE m.student = :student ORDER BY m.timestamp ASC, m.id ASC")
+    List<ChatMessage> findFirstPageOldestFirst(@Param("student") Student student, Pageable pageable);
+
+    @Query("SELECT m FROM ChatMessage m WHERE m.student = :student AND (m.timestamp > :timestamp OR (m.timestamp = :timestamp AND m.id > :id)) ORDER BY m.timestamp ASC, m.id ASC")
+    List<ChatMessage> findPageAfter(@Param("student") Student student,
+                                    @Param("timestamp") LocalDateTime timestamp,
+                                    @Param("id") UUID id,
+                                    Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.entity.FoodLogAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FoodLogAggregateRepository extends JpaRepository<FoodLogAggregate, UUID> {
+
+    // Row lock so concurrent food log writes for the same student apply one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM FoodLogAggregate a WHERE a.studentId = :studentId")
+    Optional<FoodLogAggregate> findForUpdate(@Param("studentId") UUID studentId);
+
+    // Creates a placeholder row to lock; a concurrent insert waits for ours and becomes a no-op
+    @Modifying
+    @Query(value = "INSERT INTO food_log_aggregates (student_id, features, updated_at) VALUES (:studentId, '{}', :now) " +
+                   "ON DUPLICATE KEY UPDATE student_id = student_id", nativeQuery = true)
+    int insertIfMissing(@Param("studentId") UUID studentId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,40 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.entity.FoodLogDailyBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FoodLogDailyBucketRepository extends JpaRepository<FoodLogDailyBucket, FoodLogDailyBucket.Key> {
+
+    // Row lock so concurrent food log writes for the same day apply one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM FoodLogDailyBucket b WHERE b.studentId = :studentId AND b.bucketDate = :bucketDate")
+    Optional<FoodLogDailyBucket> findForUpdate(@Param("studentId") UUID studentId,
+                                               @Param("bucketDate") LocalDate bucketDate);
+
+    // Buckets for days in [from, to]
+    @Query("SELECT b FROM FoodLogDailyBucket b WHERE b.studentId = :studentId " +
+           "AND b.bucketDate >= :from AND b.bucketDate <= :to")
+    List<FoodLogDailyBucket> findInRange(@Param("studentId") UUID studentId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM FoodLogDailyBucket b WHERE b.studentId = :studentId")
+    int deleteByStudent(@Param("studentId") UUID studentId);
+
+    @Modifying
+    @Query("DELETE FROM FoodLogDailyBucket b WHERE b.bucketDate < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDate cutoff);
+}
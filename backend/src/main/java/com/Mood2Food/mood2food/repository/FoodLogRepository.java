@@ -1,8 +1,11 @@
 package com.Mood2Food.mood2food.repository;
 
+import com.Mood2Food.mood2food.dto.FoodLogResponse;
 import com.Mood2Food.mood2food.entity.FoodLog;
 import com.Mood2Food.mood2food.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,14 +16,71 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface FoodLogRepository extends JpaRepository<FoodLog, UUID> {
+public interface FoodLogRepository extends JpaRepository<FoodLog, UUID>, JpaSpecificationExecutor<FoodLog> {
+    
+    // Read path: select only the response columns straight into FoodLogResponse, filtered on
+    // the student_id column, so no Student row is loaded and nothing enters the persistence context
+    String SELECT_RESPONSE = "SELECT new com.Mood2Food.mood2food.dto.FoodLogResponse(fl.id, fl.foodItem, fl.quantity, " +
+            "fl.mealType, fl.eatingTime, fl.emotionEmoji, fl.emotionDescription, fl.hungerLevel, fl.satisfactionLevel, " +
+            "fl.location, fl.company, fl.notes, fl.createdAt) FROM FoodLog fl WHERE fl.student.id = :studentId ";
+    
+    @Query(SELECT_RESPONSE + "ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findResponsesByStudentId(@Param("studentId") UUID studentId);
+    
+    default List<FoodLogResponse> findResponsesByStudentIdAndDate(UUID studentId, LocalDate date) {
+        return findResponsesByStudentIdAndEatingTimeInRange(studentId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
+    @Query(SELECT_RESPONSE + "AND fl.eatingTime >= :start AND fl.eatingTime < :end ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findResponsesByStudentIdAndEatingTimeInRange(@Param("studentId") UUID studentId,
+                                                                       @Param("start") LocalDateTime start,
+                                                                       @Param("end") LocalDateTime end);
+    
+    @Query(SELECT_RESPONSE + "AND fl.mealType = :mealType ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findResponsesByStudentIdAndMealType(@Param("studentId") UUID studentId,
+                                                              @Param("mealType") String mealType);
+    
+    @Query(SELECT_RESPONSE + "AND fl.emotionDescription = :emotion ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findResponsesByStudentIdAndEmotion(@Param("studentId") UUID studentId,
+                                                             @Param("emotion") String emotion);
+    
+    @Query(SELECT_RESPONSE + "AND fl.eatingTime >= :since ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findRecentResponses(@Param("studentId") UUID studentId, @Param("since") LocalDateTime since);
+    
+    @Query(SELECT_RESPONSE + "AND fl.satisfactionLevel >= 8 ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findHighSatisfactionResponses(@Param("studentId") UUID studentId);
+    
+    @Query(SELECT_RESPONSE + "AND fl.satisfactionLevel <= 3 ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findLowSatisfactionResponses(@Param("studentId") UUID studentId);
+    
+    @Query(SELECT_RESPONSE + "AND fl.hungerLevel >= 7 AND fl.satisfactionLevel <= 5 ORDER BY fl.eatingTime DESC")
+    List<FoodLogResponse> findEmotionalEatingResponses(@Param("studentId") UUID studentId);
+    
+    default long countByStudentIdAndDate(UUID studentId, LocalDate date) {
+        return countByStudentIdAndEatingTimeInRange(studentId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
+    @Query("SELECT COUNT(fl) FROM FoodLog fl WHERE fl.student.id = :studentId AND fl.eatingTime >= :start AND fl.eatingTime < :end")
+    long countByStudentIdAndEatingTimeInRange(@Param("studentId") UUID studentId,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
     
     // Find all food logs for a student
     List<FoodLog> findByStudentOrderByEatingTimeDesc(Student student);
     
+    // Find the most recent food logs for a student (chat context)
+    List<FoodLog> findTop5ByStudentOrderByEatingTimeDesc(Student student);
+    
     // Find food logs for a student on a specific date
-    @Query("SELECT fl FROM FoodLog fl WHERE fl.student = :student AND DATE(fl.eatingTime) = :date ORDER BY fl.eatingTime DESC")
-    List<FoodLog> findByStudentAndDate(@Param("student") Student student, @Param("date") LocalDate date);
+    default List<FoodLog> findByStudentAndDate(Student student, LocalDate date) {
+        return findByStudentAndEatingTimeInRange(student, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
+    // Find food logs for a student in [start, end); a plain range keeps the eating_time index usable
+    @Query("SELECT fl FROM FoodLog fl WHERE fl.student = :student AND fl.eatingTime >= :start AND fl.eatingTime < :end ORDER BY fl.eatingTime DESC")
+    List<FoodLog> findByStudentAndEatingTimeInRange(@Param("student") Student student,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
     
     // Find food logs for a student within a date range
     @Query("SELECT fl FROM FoodLog fl WHERE fl.student = :student AND fl.eatingTime BETWEEN :startDate AND :endDate ORDER BY fl.eatingTime DESC")
@@ -28,6 +88,22 @@ public interface FoodLogRepository extends JpaRepository<FoodLog, UUID> {
                                           @Param("startDate") LocalDateTime startDate, 
                                           @Param("endDate") LocalDateTime endDate);
     
+    // Sync: food logs changed after the (updatedAt, id) cursor and before the settle horizon, oldest first
+    @Query("SELECT fl FROM FoodLog fl WHERE fl.student = :student " +
+           "AND (fl.updatedAt > :since OR (fl.updatedAt = :since AND fl.id > :afterId)) " +
+           "AND fl.updatedAt < :until ORDER BY fl.updatedAt ASC, fl.id ASC")
+    List<FoodLog> findChangedAfter(@Param("student") Student student,
+                                   @Param("since") LocalDateTime since,
+                                   @Param("afterId") UUID afterId,
+                                   @Param("until") LocalDateTime until,
+                                   Pageable pageable);
+    
+    // Sync from scratch: every food log last changed before the settle horizon, oldest first
+    @Query("SELECT fl FROM FoodLog fl WHERE fl.student = :student AND fl.updatedAt < :until ORDER BY fl.updatedAt ASC, fl.id ASC")
+    List<FoodLog> findChangedBefore(@Param("student") Student student,
+                                    @Param("until") LocalDateTime until,
+                                    Pageable pageable);
+    
     // Find food logs by meal type for a student
     List<FoodLog> findByStudentAndMealTypeOrderByEatingTimeDesc(Student student, String mealType);
     
@@ -42,8 +118,25 @@ public interface FoodLogRepository extends JpaRepository<FoodLog, UUID> {
     long countByStudent(Student student);
     
     // Count food logs for a student on a specific date
-    @Query("SELECT COUNT(fl) FROM FoodLog fl WHERE fl.student = :student AND DATE(fl.eatingTime) = :date")
-    long countByStudentAndDate(@Param("student") Student student, @Param("date") LocalDate date);
+    default long countByStudentAndDate(Student student, LocalDate date) {
+        return countByStudentAndEatingTimeInRange(student, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
+    // Count food logs for a student in [start, end)
+    @Query("SELECT COUNT(fl) FROM FoodLog fl WHERE fl.student = :student AND fl.eatingTime >= :start AND fl.eatingTime < :end")
+    long countByStudentAndEatingTimeInRange(@Param("student") Student student,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+    
+    // Just the numeric columns of every food log, oldest first, for the columnar event cache
+    @Query("SELECT fl.eatingTime, fl.hungerLevel, fl.satisfactionLevel, fl.emotionCode, fl.mealTypeCode " +
+           "FROM FoodLog fl WHERE fl.student.id = :studentId ORDER BY fl.eatingTime ASC")
+    List<Object[]> findEatingEvents(@Param("studentId") UUID studentId);
+    
+    // Distinct (foodItem, location, company) combinations with their counts, for autocomplete
+    @Query("SELECT fl.foodItem, fl.location, fl.company, COUNT(fl) FROM FoodLog fl WHERE fl.student.id = :studentId " +
+           "GROUP BY fl.foodItem, fl.location, fl.company")
+    List<Object[]> countSuggestionValues(@Param("studentId") UUID studentId);
     
     // Find most common emotions for a student
     @Query("SELECT fl.emotionDescription, COUNT(fl) FROM FoodLog fl WHERE fl.student = :student GROUP BY fl.emotionDescription ORDER BY COUNT(fl) DESC")
@@ -80,4 +173,21 @@ public interface FoodLogRepository extends JpaRepository<FoodLog, UUID> {
     long countByStudentAndCreatedAtBetween(@Param("student") Student student, 
                                          @Param("startDate") LocalDateTime startDate, 
                                          @Param("endDate") LocalDateTime endDate);
-} 
\ No newline at end of file
+
+    // Students with a food log written since the cutoff, after the id cursor, in id order
+    @Query("SELECT DISTINCT fl.student.id FROM FoodLog fl WHERE fl.updatedAt >= :since " +
+           "AND fl.student.id > :afterId ORDER BY fl.student.id")
+    List<UUID> findActiveStudentIds(@Param("since") LocalDateTime since,
+                                    @Param("afterId") UUID afterId,
+                                    Pageable pageable);
+
+    // One page of a cohort scan: the numeric columns of food logs after the (student, id)
+    // cursor and up to the partition's last student id, ordered by student
+    @Query("SELECT fl.student.id, fl.id, fl.eatingTime, fl.hungerLevel, fl.satisfactionLevel, fl.emotionCode " +
+           "FROM FoodLog fl WHERE (fl.student.id > :afterStudentId OR (fl.student.id = :afterStudentId AND fl.id > :afterId)) " +
+           "AND fl.student.id <= :lastStudentId ORDER BY fl.student.id, fl.id")
+    List<Object[]> findCohortRows(@Param("afterStudentId") UUID afterStudentId,
+                                  @Param("afterId") UUID afterId,
+                                  @Param("lastStudentId") UUID lastStudentId,
+                                  Pageable pageable);
+}
@@ -0,0 +1,58 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.dto.FoodLogFilter;
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.util.KeysetCursor;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class FoodLogSpecifications {
+
+    private FoodLogSpecifications() {
+    }
+
+    /**
+     * One student's food logs matching every non-null filter, positioned after the
+     * cursor when ordered by (eating_time, id) descending. Only the filters that are
+     * set end up in the WHERE clause.
+     */
+    public static Specification<FoodLog> page(Student student, FoodLogFilter filter, KeysetCursor after) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> eatingTime = root.get("eatingTime");
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("student"), student));
+            if (filter.mealType() != null) {
+                predicates.add(cb.equal(root.get("mealType"), filter.mealType()));
+            }
+            if (filter.emotion() != null) {
+                predicates.add(cb.equal(root.get("emotionDescription"), filter.emotion()));
+            }
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(eatingTime, filter.from().atStartOfDay()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(eatingTime, filter.to().plusDays(1).atStartOfDay()));
+            }
+            if (filter.minSatisfaction() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("satisfactionLevel"), filter.minSatisfaction()));
+            }
+            if (filter.maxSatisfaction() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("satisfactionLevel"), filter.maxSatisfaction()));
+            }
+            if (after != null) {
+                Path<UUID> id = root.get("id");
+                predicates.add(cb.or(
+                    cb.lessThan(eatingTime, after.timestamp()),
+                    cb.and(cb.equal(eatingTime, after.timestamp()), cb.lessThan(id, after.id()))));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
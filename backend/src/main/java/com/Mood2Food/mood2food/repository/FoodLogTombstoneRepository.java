@@ -0,0 +1,31 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.entity.FoodLogTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FoodLogTombstoneRepository extends JpaRepository<FoodLogTombstone, UUID> {
+
+    // Deletions after the (deletedAt, id) cursor and before the settle horizon, oldest first
+    @Query("SELECT t FROM FoodLogTombstone t WHERE t.studentId = :studentId " +
+           "AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.foodLogId > :afterId)) " +
+           "AND t.deletedAt < :until ORDER BY t.deletedAt ASC, t.foodLogId ASC")
+    List<FoodLogTombstone> findDeletedAfter(@Param("studentId") UUID studentId,
+                                            @Param("since") LocalDateTime since,
+                                            @Param("afterId") UUID afterId,
+                                            @Param("until") LocalDateTime until,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM FoodLogTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,9 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.entity.InsightJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InsightJobCheckpointRepository extends JpaRepository<InsightJobCheckpoint, String> {
+}
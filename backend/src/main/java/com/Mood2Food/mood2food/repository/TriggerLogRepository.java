@@ -3,6 +3,8 @@ package com.Mood2Food.mood2food.repository;
 import com.Mood2Food.mood2food.entity.TriggerLog;
 import com.Mood2Food.mood2food.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,6 +12,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TriggerLogRepository extends JpaRepository<TriggerLog, UUID> {
-    List<TriggerLog> findByStudentId(UUID studentId);
+    // Filter on the foreign key directly; the derived query joined students and scanned trigger_logs
+    @Query("SELECT tl FROM TriggerLog tl WHERE tl.student.id = :studentId")
+    List<TriggerLog> findByStudentId(@Param("studentId") UUID studentId);
     long countByStudent(Student student);
 }
@@ -0,0 +1,16 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.entity.VocabularyTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VocabularyTermRepository extends JpaRepository<VocabularyTerm, Short> {
+
+    List<VocabularyTerm> findByKind(String kind);
+
+    Optional<VocabularyTerm> findByKindAndTerm(String kind, String term);
+}
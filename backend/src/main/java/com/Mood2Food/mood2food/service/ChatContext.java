@@ -0,0 +1,20 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.ChatMessage;
+import com.Mood2Food.mood2food.entity.FoodLog;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the ML backend needs to answer a chat message for one student
+ */
+public record ChatContext(
+        List<ChatMessage> recentHistory,
+        List<FoodLog> recentFoodLogs,
+        Map<String, Object> foodInsights) {
+
+    public static ChatContext empty() {
+        return new ChatContext(List.of(), List.of(), Map.of());
+    }
+}
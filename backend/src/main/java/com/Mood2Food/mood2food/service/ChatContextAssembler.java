@@ -0,0 +1,81 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.ChatMessage;
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the chat context by running the independent lookups concurrently on
+ * virtual threads. Every stage is forked up front and joined against a shared
+ * deadline; a stage that misses it is cancelled and contributes an empty value
+ * so a slow query can never hold up the reply.
+ */
+@Component
+public class ChatContextAssembler {
+
+    @Autowired
+    private ChatHistoryBuffer chatHistoryBuffer;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private FoodInsightService foodInsightService;
+
+    @Value("${chat.context.stage-timeout-ms:750}")
+    private long stageTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChatContext assemble(Student student) {
+        // Fan out
+        Future<List<ChatMessage>> history = executor.submit(
+            () -> chatHistoryBuffer.recent(student));
+        Future<List<FoodLog>> foodLogs = executor.submit(
+            () -> foodLogRepository.findTop5ByStudentOrderByEatingTimeDesc(student));
+        Future<Map<String, Object>> insights = executor.submit(
+            () -> foodInsightService.getRecentFoodInsights(student));
+
+        // Fan in against a single deadline shared by all stages
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stageTimeoutMs);
+        return new ChatContext(
+            join("recent chat history", history, deadline, List.of()),
+            join("recent food logs", foodLogs, deadline, List.of()),
+            join("food insights", insights, deadline, Map.of())
+        );
+    }
+
+    private <T> T join(String stage, Future<T> future, long deadline, T fallback) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            System.err.println("Chat context stage '" + stage + "' exceeded " + stageTimeoutMs + "ms, continuing without it");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Chat context stage '" + stage + "' failed: " + e.getMessage());
+        }
+        return fallback;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,171 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.ChatMessage;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.ChatMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student ring buffer of the most recent chat messages, used as the chat
+ * context window. Buffers are loaded lazily from the database on a miss, kept
+ * current by {@link #append} as messages commit, and evicted once idle or when the total estimated
+ * size exceeds the memory budget.
+ */
+@Component
+public class ChatHistoryBuffer {
+
+    // Same window as findTop10ByStudentOrderByTimestampDesc
+    private static final int CAPACITY = 10;
+    private static final long MESSAGE_OVERHEAD_BYTES = 200;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Value("${chat.history-buffer.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    @Value("${chat.history-buffer.max-bytes:33554432}")
+    private long maxBytes;
+
+    private final Map<UUID, Buffer> buffers = new ConcurrentHashMap<>();
+    // Loads in flight, by student; a committed message cancels the student's load
+    private final Map<UUID, Object> loads = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    private static class Buffer {
+        // Newest message first
+        final ArrayDeque<ChatMessage> messages = new ArrayDeque<>(CAPACITY);
+        long bytes;
+        volatile long lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Most recent messages for the student, newest first
+     */
+    public List<ChatMessage> recent(Student student) {
+        Buffer buffer = buffers.get(student.getId());
+        if (buffer == null) {
+            // Query outside any map lock; only cached if no message commits meanwhile
+            Object ticket = new Object();
+            loads.put(student.getId(), ticket);
+            Buffer loaded = load(student);
+            buffer = buffers.compute(student.getId(), (id, existing) -> {
+                if (existing != null) {
+                    return existing;
+                }
+                if (!loads.remove(id, ticket)) {
+                    return null;
+                }
+                totalBytes.addAndGet(loaded.bytes);
+                return loaded;
+            });
+            if (buffer == null) {
+                return new ArrayList<>(loaded.messages);
+            }
+        }
+        buffer.lastAccess = System.currentTimeMillis();
+        List<ChatMessage> snapshot;
+        synchronized (buffer) {
+            snapshot = new ArrayList<>(buffer.messages);
+        }
+        evictIfNeeded();
+        return snapshot;
+    }
+
+    /**
+     * Record a newly saved message once its transaction commits. Students without
+     * a buffer are left alone and will pick the message up on their next lazy load.
+     */
+    public void append(ChatMessage message) {
+        if (message.getStudent() == null || message.getId() == null) {
+            return;
+        }
+        UUID studentId = message.getStudent().getId();
+        AfterCommit.run(() -> {
+            loads.remove(studentId);
+            buffers.computeIfPresent(studentId, (id, buffer) -> {
+                synchronized (buffer) {
+                    // A lazy load racing with the commit may already contain this message
+                    boolean present = buffer.messages.stream().anyMatch(m -> message.getId().equals(m.getId()));
+                    if (!present) {
+                        buffer.messages.addFirst(message);
+                        adjust(buffer, estimate(message));
+                        if (buffer.messages.size() > CAPACITY) {
+                            adjust(buffer, -estimate(buffer.messages.removeLast()));
+                        }
+                    }
+                }
+                buffer.lastAccess = System.currentTimeMillis();
+                return buffer;
+            });
+        });
+    }
+
+    public void invalidate(UUID studentId) {
+        loads.remove(studentId);
+        Buffer removed = buffers.remove(studentId);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.bytes);
+        }
+    }
+
+    private Buffer load(Student student) {
+        Buffer buffer = new Buffer();
+        for (ChatMessage message : chatMessageRepository.findTop10ByStudentOrderByTimestampDesc(student)) {
+            buffer.messages.addLast(message);
+            // Counted towards the budget once installed
+            buffer.bytes += estimate(message);
+        }
+        return buffer;
+    }
+
+    private void adjust(Buffer buffer, long delta) {
+        buffer.bytes += delta;
+        totalBytes.addAndGet(delta);
+    }
+
+    private long estimate(ChatMessage message) {
+        long text = message.getMessage() != null ? message.getMessage().length() : 0;
+        return MESSAGE_OVERHEAD_BYTES + text * 2;
+    }
+
+    private void evictIfNeeded() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        boolean sweepDue = now - last >= Math.min(idleTtlMs, 60_000) && lastSweep.compareAndSet(last, now);
+
+        if (sweepDue) {
+            buffers.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().lastAccess > idleTtlMs) {
+                    totalBytes.addAndGet(-entry.getValue().bytes);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        if (totalBytes.get() > maxBytes) {
+            // Over budget: drop least recently used students until back under it
+            List<Map.Entry<UUID, Buffer>> byAge = new ArrayList<>(buffers.entrySet());
+            byAge.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            for (Map.Entry<UUID, Buffer> entry : byAge) {
+                if (totalBytes.get() <= maxBytes) {
+                    break;
+                }
+                invalidate(entry.getKey());
+            }
+        }
+    }
+}
@@ -6,17 +6,24 @@ import com.Mood2Food.mood2food.entity.FoodLog;
 import com.Mood2Food.mood2food.repository.ChatMessageRepository;
 import com.Mood2Food.mood2food.repository.FoodLogRepository;
 import com.Mood2Food.mood2food.service.FoodInsightService;
+import com.Mood2Food.mood2food.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import java.util.List;
 import io.github.cdimascio.dotenv.Dotenv;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 @Service
 public class ChatService {
@@ -29,10 +36,31 @@ public class ChatService {
     @Autowired
     private FoodInsightService foodInsightService;
 
-    private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+    @Autowired
+    private ChatContextAssembler chatContextAssembler;
+
+    @Autowired
+    private MlGatewayClient mlGatewayClient;
+
+    @Autowired
+    private MlClassifyBatcher mlClassifyBatcher;
+
+    @Autowired
+    private MlCircuitBreaker mlCircuitBreaker;
+
+    @Autowired
+    private ChatHistoryBuffer chatHistoryBuffer;
 
-    @Value("${ml.backend.url:http://localhost:10000/classify-emotion}")
-    private String mlApiUrl;
+    @Autowired
+    private DataPurgeService dataPurgeService;
+
+    @Autowired
+    private MlResultCache mlResultCache;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
 
     @Value("${openai.api.key:}")
     private String openaiApiKey;
@@ -40,7 +68,6 @@ public class ChatService {
     @Value("${openai.api.url:}")
     private String openaiApiUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final Map<String, List<String>> emotionReplies = Map.of(
@@ -90,6 +117,26 @@ private String getDynamicReply(String emotion) {
     return replies.get(index);
 }
 
+// Rough keyword mapping used when the ML service is unavailable
+private static final Map<String, List<String>> emotionKeywords = Map.of(
+    "sadness", List.of("sad", "down", "lonely", "depressed", "upset", "cry"),
+    "fear", List.of("anxious", "stress", "worried", "nervous", "scared", "panic"),
+    "anger", List.of("angry", "mad", "frustrated", "annoyed", "furious"),
+    "joy", List.of("happy", "great", "excited", "celebrat", "good"),
+    "love", List.of("love", "grateful", "thankful"),
+    "surprise", List.of("surprised", "unexpected", "shocked")
+);
+
+private String getDegradedReply(String userMessage) {
+    String text = userMessage == null ? "" : userMessage.toLowerCase();
+    for (Map.Entry<String, List<String>> entry : emotionKeywords.entrySet()) {
+        if (entry.getValue().stream().anyMatch(text::contains)) {
+            return getDynamicReply(entry.getKey());
+        }
+    }
+    return getDynamicReply("neutral");
+}
+
 private String getOpenAIReply(String userMessage, String emotion, double confidence) {
     try {
         String apiKey = dotenv.get("OPENAI_API_KEY", openaiApiKey);
@@ -156,30 +203,151 @@ private String getOpenAIReply(String userMessage, String emotion, double confide
     }
 }
 
+    @Transactional
     public ChatMessage saveMessage(ChatMessage message) {
-        return chatMessageRepository.save(message);
+        ChatMessage saved = chatMessageRepository.save(message);
+        chatHistoryBuffer.append(saved);
+        if (saved.getStudent() != null) {
+            mlResultCache.invalidate(saved.getStudent().getId());
+        }
+        return saved;
     }
 
     public List<ChatMessage> getChatHistory(Student student) {
         return chatMessageRepository.findByStudentOrderByTimestampAsc(student);
     }
 
+    /**
+     * One page of chat history using keyset pagination on (timestamp, id). In
+     * newest-first mode the cursor scrolls backwards through older messages.
+     */
+    public List<ChatMessage> getChatHistoryPage(Student student, String cursor, int limit, boolean newestFirst) {
+        Pageable page = PageRequest.of(0, limit);
+        if (cursor == null || cursor.isBlank()) {
+            return newestFirst
+                ? chatMessageRepository.findFirstPageNewestFirst(student, page)
+                : chatMessageRepository.findFirstPageOldestFirst(student, page);
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        return newestFirst
+            ? chatMessageRepository.findPageBefore(student, position.timestamp(), position.id(), page)
+            : chatMessageRepository.findPageAfter(student, position.timestamp(), position.id(), page);
+    }
+
+    // Never runs inside a transaction, so no pooled connection is held during the ML call
+    @Transactional(propagation = Propagation.NEVER)
     public String getBotReply(String userMessage, Student student) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        // While the ML circuit is open, skip context assembly and answer locally
+        MlCircuitBreaker.Permission permission = mlCircuitBreaker.tryAcquirePermission();
+        if (permission == null) {
+            return getDegradedReply(userMessage);
+        }
 
-        // Get recent chat history for context
-        List<ChatMessage> recentHistory = chatMessageRepository
-            .findTop10ByStudentOrderByTimestampDesc(student);
-        
-        // Get actual food logs for accurate context (limit to 5 most recent)
-        List<FoodLog> allFoodLogs = foodLogRepository.findByStudentOrderByEatingTimeDesc(student);
-        List<FoodLog> recentFoodLogs = allFoodLogs.stream()
-            .limit(5)
-            .collect(java.util.stream.Collectors.toList());
-        
-        // Get food log insights for personalized context
-        Map<String, Object> foodInsights = foodInsightService.getRecentFoodInsights(student);
+        Map<String, Object> body = buildPermittedPayload(userMessage, student, permission);
+
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, Object> jsonResponse = mlClassifyBatcher.isEnabled()
+                ? mlClassifyBatcher.classify(body)
+                : mlGatewayClient.classifyEmotion(body);
+            mlCircuitBreaker.onSuccess(permission, System.currentTimeMillis() - start);
+
+            String emotion = jsonResponse.getOrDefault("emotion", "unknown").toString();
+            String insight = jsonResponse.getOrDefault("insight", "").toString();
+
+            // Use the GPT-4 response from ML service (insight field)
+            if (insight != null && !insight.isEmpty()) {
+                return insight;  // ✅ Return the context-aware GPT-4 response!
+            }
+            
+            // Fallback to hardcoded responses only if ML service insight is empty
+            String smartReply = getDynamicReply(emotion);
+            return smartReply;
+
+        } catch (RestClientResponseException e) {
+            mlCircuitBreaker.onFailure(permission, System.currentTimeMillis() - start);
+            return "Sorry, I'm having trouble processing that right now.";
+        } catch (Exception e) {
+            mlCircuitBreaker.onFailure(permission, System.currentTimeMillis() - start);
+            return "Oops! Something went wrong while talking to my brain (ML server).";
+        }
+    }
+
+    /**
+     * Stream the bot reply token by token. Tokens are handed to the consumer as the
+     * ML service produces them; the complete reply is returned once the stream ends.
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public String streamBotReply(String userMessage, Student student, Consumer<String> onToken) {
+        // While the ML circuit is open, skip context assembly and answer locally
+        MlCircuitBreaker.Permission permission = mlCircuitBreaker.tryAcquirePermission();
+        if (permission == null) {
+            String reply = getDegradedReply(userMessage);
+            onToken.accept(reply);
+            return reply;
+        }
+
+        Map<String, Object> body = buildPermittedPayload(userMessage, student, permission);
+
+        StringBuilder reply = new StringBuilder();
+        String[] emotion = {"unknown"};
+        long start = System.currentTimeMillis();
+        long[] firstTokenAt = {0};
+        try {
+            mlGatewayClient.streamClassifyEmotion(body, event -> {
+                if (event.containsKey("emotion")) {
+                    emotion[0] = event.get("emotion").toString();
+                }
+                Object token = event.get("token");
+                if (token != null && !token.toString().isEmpty()) {
+                    if (firstTokenAt[0] == 0) {
+                        firstTokenAt[0] = System.currentTimeMillis();
+                    }
+                    reply.append(token);
+                    onToken.accept(token.toString());
+                }
+            });
+            // A stream's length follows the reply, so judge the ML service by time to first token
+            long end = firstTokenAt[0] != 0 ? firstTokenAt[0] : System.currentTimeMillis();
+            mlCircuitBreaker.onSuccess(permission, end - start);
+        } catch (Exception e) {
+            mlCircuitBreaker.onFailure(permission, System.currentTimeMillis() - start);
+            System.err.println("Error streaming bot reply: " + e.getMessage());
+            if (reply.length() > 0) {
+                return reply.toString(); // Keep what the user has already seen
+            }
+            String fallback = "Oops! Something went wrong while talking to my brain (ML server).";
+            onToken.accept(fallback);
+            return fallback;
+        }
+
+        // Fallback to hardcoded responses only if ML service produced no insight
+        if (reply.length() == 0) {
+            String smartReply = getDynamicReply(emotion[0]);
+            onToken.accept(smartReply);
+            return smartReply;
+        }
+        return reply.toString();
+    }
+
+    // Context assembly for a call that already holds a circuit permission; the
+    // permission is handed back if assembly fails, so no half-open probe leaks
+    private Map<String, Object> buildPermittedPayload(String userMessage, Student student,
+                                                      MlCircuitBreaker.Permission permission) {
+        try {
+            return buildMlPayload(userMessage, student);
+        } catch (RuntimeException e) {
+            mlCircuitBreaker.release(permission);
+            throw e;
+        }
+    }
+
+    private Map<String, Object> buildMlPayload(String userMessage, Student student) {
+        // Assemble history, food logs and insights concurrently
+        ChatContext context = chatContextAssembler.assemble(student);
+        List<ChatMessage> recentHistory = context.recentHistory();
+        List<FoodLog> recentFoodLogs = context.recentFoodLogs();
+        Map<String, Object> foodInsights = context.foodInsights();
         
         // Build conversation context
         List<Map<String, String>> conversationHistory = new ArrayList<>();
@@ -203,61 +371,26 @@ private String getOpenAIReply(String userMessage, String emotion, double confide
             foodLogContext.add(foodItem);
         }
 
-        java.util.Map<String, Object> body = new java.util.HashMap<>();
+        Map<String, Object> body = new HashMap<>();
         body.put("reason", userMessage);
         body.put("user_id", student.getId().toString());
         body.put("conversation_history", conversationHistory);
         body.put("food_insights", foodInsights);
         body.put("recent_food_logs", foodLogContext);
 
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
-
-            String url = dotenv.get("ML_BACKEND_URL", mlApiUrl);
-            ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                java.util.Map<String, Object> jsonResponse = objectMapper.readValue(
-                        response.getBody(), java.util.Map.class);
-
-                String emotion = jsonResponse.getOrDefault("emotion", "unknown").toString();
-                String insight = jsonResponse.getOrDefault("insight", "").toString();
-                double confidence = Double.parseDouble(jsonResponse.getOrDefault("confidence", "0").toString());
-
-                // Use the GPT-4 response from ML service (insight field)
-                if (insight != null && !insight.isEmpty()) {
-                    return insight;  // ✅ Return the context-aware GPT-4 response!
-                }
-                
-                // Fallback to hardcoded responses only if ML service insight is empty
-                String smartReply = getDynamicReply(emotion);
-                return smartReply;
-
-            } else {
-                return "Sorry, I'm having trouble processing that right now.";
-            }
-
-        } catch (Exception e) {
-            return "Oops! Something went wrong while talking to my brain (ML server).";
-        }
+        return body;
     }
 
     public Map<String, Object> getUserPatterns(Student student) {
         try {
-            String url = dotenv.get("ML_BACKEND_URL", mlApiUrl).replace("/classify-emotion", 
-                "/user-patterns/" + student.getId().toString());
-            
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return objectMapper.readValue(response.getBody(), Map.class);
-            } else {
-                Map<String, Object> fallback = new HashMap<>();
-                fallback.put("error", "Unable to retrieve patterns at this time");
-                return fallback;
-            }
+            String patterns = mlResultCache.get("user-patterns", student.getId(),
+                () -> mlGatewayClient.getUserPatterns(student.getId()));
+            return objectMapper.readValue(patterns, Map.class);
             
+        } catch (RestClientResponseException e) {
+            Map<String, Object> fallback = new HashMap<>();
+            fallback.put("error", "Unable to retrieve patterns at this time");
+            return fallback;
         } catch (Exception e) {
             System.err.println("Error getting user patterns: " + e.getMessage());
             Map<String, Object> fallback = new HashMap<>();
@@ -268,8 +401,9 @@ private String getOpenAIReply(String userMessage, String emotion, double confide
 
     public void clearChatHistory(Student student) {
         try {
-            List<ChatMessage> messages = chatMessageRepository.findByStudentOrderByTimestampAsc(student);
-            chatMessageRepository.deleteAll(messages);
+            dataPurgeService.purgeChatMessages(student.getId());
+            chatHistoryBuffer.invalidate(student.getId());
+            mlResultCache.invalidate(student.getId());
         } catch (Exception e) {
             System.err.println("Error clearing chat history: " + e.getMessage());
             throw new RuntimeException("Failed to clear chat history", e);
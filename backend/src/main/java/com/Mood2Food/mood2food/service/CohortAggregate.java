@@ -0,0 +1,139 @@
+package com.Mood2Food.mood2food.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Population-wide food log counters for one partition of a cohort scan: logs by
+ * hour, emotional eating by hour, a satisfaction histogram, and the same hour and
+ * satisfaction breakdowns per emotion (keyed by Vocabulary code). Partials from
+ * separate partitions are combined with {@link #merge}; the size depends only on
+ * the number of distinct emotions, never on the number of logs.
+ */
+public class CohortAggregate {
+
+    // Satisfaction levels are 1-10; index 0 is unused
+    private static final int LEVELS = 11;
+    // At or below this a meal counts as low-satisfaction
+    static final int LOW_SATISFACTION = 4;
+
+    long studentCount;
+    long totalLogs;
+    final long[] hourCounts = new long[24];
+    final long[] emotionalEatingByHour = new long[24];
+    final long[] satisfactionHistogram = new long[LEVELS];
+    final Map<Short, long[]> hourByEmotion = new HashMap<>();
+    final Map<Short, long[]> satisfactionByEmotion = new HashMap<>();
+
+    /**
+     * Count one food log. The scan is ordered by student, so the caller counts a
+     * new student whenever the student id changes.
+     */
+    void add(LocalDateTime eatingTime, Integer hungerLevel, Integer satisfactionLevel, Short emotionCode) {
+        totalLogs++;
+        int hour = eatingTime.getHour();
+        hourCounts[hour]++;
+        if (FoodLogFeatures.isEmotionalEating(hungerLevel, satisfactionLevel)) {
+            emotionalEatingByHour[hour]++;
+        }
+        boolean rated = satisfactionLevel != null && satisfactionLevel > 0 && satisfactionLevel < LEVELS;
+        if (rated) {
+            satisfactionHistogram[satisfactionLevel]++;
+        }
+        if (emotionCode != null) {
+            hourByEmotion.computeIfAbsent(emotionCode, code -> new long[24])[hour]++;
+            if (rated) {
+                satisfactionByEmotion.computeIfAbsent(emotionCode, code -> new long[LEVELS])[satisfactionLevel]++;
+            }
+        }
+    }
+
+    void merge(CohortAggregate other) {
+        studentCount += other.studentCount;
+        totalLogs += other.totalLogs;
+        add(hourCounts, other.hourCounts);
+        add(emotionalEatingByHour, other.emotionalEatingByHour);
+        add(satisfactionHistogram, other.satisfactionHistogram);
+        other.hourByEmotion.forEach((code, counts) -> add(hourByEmotion.computeIfAbsent(code, c -> new long[24]), counts));
+        other.satisfactionByEmotion.forEach((code, counts) -> add(satisfactionByEmotion.computeIfAbsent(code, c -> new long[LEVELS]), counts));
+    }
+
+    /**
+     * The counters as a JSON-ready map with emotions decoded, plus the peak hour per
+     * emotion and each emotion's share of low-satisfaction meals
+     */
+    Map<String, Object> toSnapshot(Vocabulary vocabulary) {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("studentCount", studentCount);
+        snapshot.put("totalLogs", totalLogs);
+        snapshot.put("hourCounts", toIndexMap(hourCounts));
+        snapshot.put("emotionalEatingByHour", toIndexMap(emotionalEatingByHour));
+        snapshot.put("satisfactionHistogram", toIndexMap(satisfactionHistogram));
+
+        Map<String, Object> byHour = new TreeMap<>();
+        Map<String, Integer> peakHour = new TreeMap<>();
+        hourByEmotion.forEach((code, counts) -> {
+            String emotion = vocabulary.decode(Vocabulary.Kind.EMOTION, code);
+            if (emotion != null) {
+                byHour.put(emotion, toIndexMap(counts));
+                peakHour.put(emotion, peak(counts));
+            }
+        });
+        Map<String, Object> bySatisfaction = new TreeMap<>();
+        Map<String, Double> lowShare = new TreeMap<>();
+        satisfactionByEmotion.forEach((code, counts) -> {
+            String emotion = vocabulary.decode(Vocabulary.Kind.EMOTION, code);
+            if (emotion != null) {
+                bySatisfaction.put(emotion, toIndexMap(counts));
+                lowShare.put(emotion, lowSatisfactionShare(counts));
+            }
+        });
+        snapshot.put("hourByEmotion", byHour);
+        snapshot.put("peakHourByEmotion", peakHour);
+        snapshot.put("satisfactionByEmotion", bySatisfaction);
+        snapshot.put("lowSatisfactionShareByEmotion", lowShare);
+        return snapshot;
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    // Non-zero counts keyed by index (hour or level)
+    private static Map<Integer, Long> toIndexMap(long[] counts) {
+        Map<Integer, Long> byIndex = new TreeMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                byIndex.put(i, counts[i]);
+            }
+        }
+        return byIndex;
+    }
+
+    // Busiest index; the earliest wins a tie
+    private static int peak(long[] counts) {
+        int peak = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[peak]) {
+                peak = i;
+            }
+        }
+        return peak;
+    }
+
+    private static double lowSatisfactionShare(long[] counts) {
+        long low = 0;
+        long total = 0;
+        for (int level = 1; level < counts.length; level++) {
+            total += counts[level];
+            if (level <= LOW_SATISFACTION) {
+                low += counts[level];
+            }
+        }
+        return total > 0 ? (double) low / total : 0.0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Cohort analytics across every student's food logs, for counselors. The
+ * student id space is split into equal ranges, each range is scanned in
+ * parallel in (student, id) keyset pages and folded into a
+ * {@link CohortAggregate}, and the partials are merged. Memory is one page per
+ * partition plus the fixed-size counters, however large food_logs grows. The
+ * merged result is kept as a snapshot and refreshed on a schedule, so reads
+ * never scan.
+ */
+@Service
+public class CohortAnalyticsService {
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private Vocabulary vocabulary;
+
+    @Value("${analytics.cohort.partitions:0}")
+    private int partitions;
+
+    @Value("${analytics.cohort.page-size:1000}")
+    private int pageSize;
+
+    @Value("${analytics.cohort.counselor-emails:}")
+    private String counselorEmails;
+
+    private volatile Map<String, Object> snapshot;
+
+    public boolean isCounselor(String email) {
+        Set<String> counselors = Arrays.stream(counselorEmails.split(","))
+            .map(value -> value.trim().toLowerCase(Locale.ROOT))
+            .filter(value -> !value.isEmpty())
+            .collect(Collectors.toSet());
+        return email != null && counselors.contains(email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The latest snapshot, computed now if none has been built yet
+     */
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                refresh();
+            }
+            return snapshot;
+        }
+    }
+
+    @Scheduled(cron = "${analytics.cohort.refresh-cron:0 30 4 * * *}")
+    public synchronized void refresh() {
+        long started = System.currentTimeMillis();
+        int count = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        CohortAggregate total = new CohortAggregate();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CohortAggregate>> scans = new ArrayList<>();
+            for (UUID[] range : partition(count)) {
+                scans.add(executor.submit(() -> scan(range[0], range[1])));
+            }
+            for (Future<CohortAggregate> scan : scans) {
+                total.merge(scan.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cohort scan failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cohort scan interrupted", e);
+        }
+
+        Map<String, Object> result = total.toSnapshot(vocabulary);
+        result.put("generatedAt", LocalDateTime.now().toString());
+        result.put("partitions", count);
+        snapshot = Collections.unmodifiableMap(result);
+        System.out.println("Cohort snapshot rebuilt from " + total.totalLogs + " food logs in "
+            + count + " partitions (" + (System.currentTimeMillis() - started) + " ms)");
+    }
+
+    /**
+     * Split the id space into equal, contiguous [first, last] ranges by the high
+     * 64 bits, compared unsigned to match the database's byte order. Random
+     * UUIDs spread evenly across them.
+     */
+    static List<UUID[]> partition(int count) {
+        List<UUID[]> ranges = new ArrayList<>();
+        long width = Long.divideUnsigned(-1L, count);
+        for (int i = 0; i < count; i++) {
+            long first = width * i;
+            boolean lastRange = i == count - 1;
+            long last = lastRange ? -1L : width * (i + 1) - 1;
+            ranges.add(new UUID[] {new UUID(first, 0L), new UUID(last, -1L)});
+        }
+        return ranges;
+    }
+
+    private CohortAggregate scan(UUID first, UUID last) {
+        CohortAggregate partial = new CohortAggregate();
+        // Start just before the first id; no food log id is all zeros
+        UUID afterStudentId = first;
+        UUID afterId = new UUID(0L, 0L);
+        UUID currentStudent = null;
+        List<Object[]> page;
+        do {
+            page = foodLogRepository.findCohortRows(afterStudentId, afterId, last, PageRequest.of(0, pageSize));
+            for (Object[] row : page) {
+                UUID studentId = (UUID) row[0];
+                if (!studentId.equals(currentStudent)) {
+                    // Ordered by student, so each student starts exactly once per partition
+                    partial.studentCount++;
+                    currentStudent = studentId;
+                }
+                partial.add((LocalDateTime) row[2], (Integer) row[3], (Integer) row[4], (Short) row[5]);
+            }
+            if (!page.isEmpty()) {
+                Object[] lastRow = page.get(page.size() - 1);
+                afterStudentId = (UUID) lastRow[0];
+                afterId = (UUID) lastRow[1];
+            }
+        } while (page.size() == pageSize);
+        return partial;
+    }
+}
@@ -11,9 +11,15 @@ import java.util.List;
 public class CopingToolService {
     @Autowired
     private CopingToolUsageRepository copingToolUsageRepository;
+    @Autowired
+    private StudentDataVersion studentDataVersion;
 
     public CopingToolUsage logUsage(CopingToolUsage usage) {
-        return copingToolUsageRepository.save(usage);
+        CopingToolUsage saved = copingToolUsageRepository.save(usage);
+        if (saved.getStudent() != null) {
+            studentDataVersion.bump(saved.getStudent().getId());
+        }
+        return saved;
     }
 
     public List<CopingToolUsage> getUsageHistoryForUser(Student student) {
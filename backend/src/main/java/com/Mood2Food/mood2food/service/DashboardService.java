@@ -3,14 +3,10 @@ package com.Mood2Food.mood2food.service;
 import com.Mood2Food.mood2food.entity.Student;
 import com.Mood2Food.mood2food.repository.TriggerLogRepository;
 import com.Mood2Food.mood2food.repository.CopingToolUsageRepository;
-import com.Mood2Food.mood2food.repository.FoodLogRepository;
 import com.Mood2Food.mood2food.repository.ChatMessageRepository;
 import com.Mood2Food.mood2food.repository.InsightRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpStatus;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,11 +17,13 @@ public class DashboardService {
     @Autowired
     private CopingToolUsageRepository copingToolUsageRepository;
     @Autowired
-    private FoodLogRepository foodLogRepository;
-    @Autowired
     private ChatMessageRepository chatMessageRepository;
     @Autowired
     private InsightRepository insightRepository;
+    @Autowired
+    private MlGatewayClient mlGatewayClient;
+    @Autowired
+    private EatingEventCache eatingEventCache;
 
     public Map<String, Object> getDashboardData(Student student) {
         Map<String, Object> data = new HashMap<>();
@@ -34,15 +32,16 @@ public class DashboardService {
         java.time.LocalDate today = java.time.LocalDate.now();
         java.time.LocalDateTime startOfDay = today.atStartOfDay();
         java.time.LocalDateTime endOfDay = today.atTime(23, 59, 59);
+        EatingEvents events = eatingEventCache.events(student.getId());
         
         // Count today's food logs (using eating time for today's entries)
-        long todayFoodLogs = foodLogRepository.countByStudentAndEatingTimeBetween(student, startOfDay, endOfDay);
+        long todayFoodLogs = events.countBetween(startOfDay, today.plusDays(1).atStartOfDay());
         
         // Count today's coping tool usage
         long todayCopingTools = copingToolUsageRepository.countByStudentAndCreatedAtBetween(student, startOfDay, endOfDay);
         
         // Calculate current streak (consecutive days with food logs)
-        int currentStreak = calculateCurrentStreak(student);
+        int currentStreak = events.dayStreak(today, 30); // Check last 30 days
         
         data.put("foodLogsCount", todayFoodLogs);
         data.put("copingToolsUsed", todayCopingTools);
@@ -54,42 +53,13 @@ public class DashboardService {
         return data;
     }
     
-    private int calculateCurrentStreak(Student student) {
-        java.time.LocalDate today = java.time.LocalDate.now();
-        int streak = 0;
-        
-        for (int i = 0; i < 30; i++) { // Check last 30 days
-            java.time.LocalDate checkDate = today.minusDays(i);
-            java.time.LocalDateTime startOfDay = checkDate.atStartOfDay();
-            java.time.LocalDateTime endOfDay = checkDate.atTime(23, 59, 59);
-            
-            long foodLogsOnDate = foodLogRepository.countByStudentAndEatingTimeBetween(student, startOfDay, endOfDay);
-            
-            if (foodLogsOnDate > 0) {
-                streak++;
-            } else {
-                break; // Streak ends when we find a day with no food logs
-            }
-        }
-        
-        return streak;
-    }
-
     public Map<String, Object> getFunFactOfTheDay() {
         try {
             // Call ML service to get dynamic fun fact
-            String mlBackendUrl = "http://localhost:10000";
-            String url = mlBackendUrl + "/fun-facts/daily";
-            
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> mlResponse = response.getBody();
-                if (Boolean.TRUE.equals(mlResponse.get("success"))) {
-                    Map<String, Object> fact = (Map<String, Object>) mlResponse.get("fact");
-                    return fact;
-                }
+            Map<String, Object> mlResponse = mlGatewayClient.getDailyFunFact();
+            if (Boolean.TRUE.equals(mlResponse.get("success"))) {
+                Map<String, Object> fact = (Map<String, Object>) mlResponse.get("fact");
+                return fact;
             }
         } catch (Exception e) {
             System.err.println("Error fetching fun fact from ML service: " + e.getMessage());
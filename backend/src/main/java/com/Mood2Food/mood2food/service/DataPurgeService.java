@@ -0,0 +1,81 @@
+package com.Mood2Food.mood2food.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based deletion of a student's data. Rows are removed with chunked
+ * {@code DELETE ... WHERE student_id = ? LIMIT n} statements, each in its own short
+ * transaction, so no entities are loaded and no transaction grows with the size
+ * of the history. Every chunk is independent, so an interrupted purge is resumed
+ * simply by running it again.
+ */
+@Service
+public class DataPurgeService {
+
+    // Child tables in deletion order; the students row itself always goes last
+    private static final List<String> STUDENT_TABLES = List.of(
+        "chat_message", "food_logs", "food_log_tombstones", "food_log_aggregates", "food_log_daily_buckets", "trigger_logs", "coping_tool_usage", "insight");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${data.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Delete all chat messages for a student, returning the number of rows removed
+     */
+    public long purgeChatMessages(UUID studentId) {
+        return purgeTable("chat_message", studentId);
+    }
+
+    /**
+     * Delete every row owned by a student and then the student, returning rows
+     * removed per table
+     */
+    public Map<String, Long> purgeStudent(UUID studentId) {
+        Map<String, Long> deleted = new LinkedHashMap<>();
+        for (String table : STUDENT_TABLES) {
+            deleted.put(table, purgeTable(table, studentId));
+        }
+        Integer students = transactionTemplate.execute(status -> entityManager
+            .createNativeQuery("DELETE FROM students WHERE id = :studentId")
+            .setParameter("studentId", studentId)
+            .executeUpdate());
+        deleted.put("students", students == null ? 0L : students.longValue());
+        return deleted;
+    }
+
+    private long purgeTable(String table, UUID studentId) {
+        String sql = "DELETE FROM " + table + " WHERE student_id = :studentId LIMIT " + chunkSize;
+        long total = 0;
+        while (true) {
+            Integer removed = transactionTemplate.execute(status -> entityManager
+                .createNativeQuery(sql)
+                .setParameter("studentId", studentId)
+                .executeUpdate());
+            if (removed == null || removed == 0) {
+                break;
+            }
+            total += removed;
+            System.out.println("Purge " + table + " for student " + studentId + ": " + total + " rows deleted");
+            if (removed < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,157 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student columnar cache of eating events (see {@link EatingEvents}). A
+ * student's events are loaded with one narrow query on first use, new food logs
+ * are appended, and edits or deletes drop the student so the next read reloads.
+ * Appends and drops take effect when the write commits. A load that may have
+ * raced with a commit is returned but not cached. The total size is bounded by
+ * a memory budget; least recently used students are evicted first.
+ */
+@Component
+public class EatingEventCache {
+
+    // Entry, map node and array headers
+    private static final long STUDENT_OVERHEAD_BYTES = 256;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Value("${food-log.events.max-bytes:67108864}")
+    private long maxBytes;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // Loads in flight, by student; a committed write cancels the student's load
+    private final Map<UUID, Object> loads = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private static class Entry {
+        volatile EatingEvents events;
+        volatile long lastAccess = System.currentTimeMillis();
+        // When the load query returned (System.nanoTime)
+        final long loadedAt;
+
+        Entry(EatingEvents events, long loadedAt) {
+            this.events = events;
+            this.loadedAt = loadedAt;
+        }
+
+        long bytes() {
+            return STUDENT_OVERHEAD_BYTES + events.bytes();
+        }
+    }
+
+    public EatingEvents events(UUID studentId) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            // Query outside any map lock; only cached if no write commits meanwhile
+            Object ticket = new Object();
+            loads.put(studentId, ticket);
+            Entry loaded = new Entry(load(studentId), System.nanoTime());
+            entry = entries.compute(studentId, (id, existing) -> {
+                if (existing != null) {
+                    return existing;
+                }
+                if (!loads.remove(id, ticket)) {
+                    return null;
+                }
+                totalBytes.addAndGet(loaded.bytes());
+                return loaded;
+            });
+            if (entry == null) {
+                return loaded.events;
+            }
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        EatingEvents events = entry.events;
+        evictIfNeeded();
+        return events;
+    }
+
+    /**
+     * Record a newly saved food log once its transaction commits. Students not in
+     * the cache are left alone and will pick it up on their next load.
+     */
+    public void append(UUID studentId, FoodLog foodLog) {
+        long savedAt = System.nanoTime();
+        AfterCommit.run(() -> {
+            loads.remove(studentId);
+            entries.computeIfPresent(studentId, (id, entry) -> {
+                if (entry.loadedAt >= savedAt) {
+                    // Loaded after the save; the query may already have seen this log
+                    totalBytes.addAndGet(-entry.bytes());
+                    return null;
+                }
+                long before = entry.bytes();
+                entry.events = entry.events.with(foodLog.getEatingTime(), foodLog.getHungerLevel(),
+                        foodLog.getSatisfactionLevel(), foodLog.getEmotionCode(), foodLog.getMealTypeCode());
+                totalBytes.addAndGet(entry.bytes() - before);
+                return entry;
+            });
+        });
+    }
+
+    /**
+     * Drop the student once the current transaction commits (edits and deletes)
+     */
+    public void invalidateAfterCommit(UUID studentId) {
+        AfterCommit.run(() -> invalidate(studentId));
+    }
+
+    public void invalidate(UUID studentId) {
+        loads.remove(studentId);
+        Entry removed = entries.remove(studentId);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.bytes());
+        }
+    }
+
+    private EatingEvents load(UUID studentId) {
+        List<Object[]> rows = foodLogRepository.findEatingEvents(studentId);
+        int size = rows.size();
+        int[] minutes = new int[size];
+        byte[] hunger = new byte[size];
+        byte[] satisfaction = new byte[size];
+        short[] emotionCodes = new short[size];
+        short[] mealTypeCodes = new short[size];
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            minutes[i] = EatingEvents.minute((LocalDateTime) row[0]);
+            hunger[i] = EatingEvents.level((Integer) row[1]);
+            satisfaction[i] = EatingEvents.level((Integer) row[2]);
+            emotionCodes[i] = EatingEvents.code((Short) row[3]);
+            mealTypeCodes[i] = EatingEvents.code((Short) row[4]);
+        }
+        return new EatingEvents(minutes, hunger, satisfaction, emotionCodes, mealTypeCodes);
+    }
+
+    private void evictIfNeeded() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        // Over budget: drop least recently used students until back under it
+        List<Map.Entry<UUID, Entry>> byAge = new ArrayList<>(entries.entrySet());
+        byAge.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (Map.Entry<UUID, Entry> entry : byAge) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            invalidate(entry.getKey());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.Mood2Food.mood2food.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One student's eating events as parallel primitive arrays ordered by eating
+ * time: epoch minute of the (local) eating time, hunger and satisfaction levels,
+ * and the Vocabulary codes of the emotion and meal type. Analytics scan these
+ * arrays instead of FoodLog entities; time ranges resolve to the minute.
+ * Instances are immutable; adding an event returns a new instance, so readers
+ * never need a lock.
+ */
+public final class EatingEvents {
+
+    static final byte NO_LEVEL = 0;
+    static final short NO_CODE = -1;
+
+    // Bytes per event across the five arrays
+    static final int EVENT_BYTES = Integer.BYTES + 2 * Byte.BYTES + 2 * Short.BYTES;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int[] minutes;
+    private final byte[] hunger;
+    private final byte[] satisfaction;
+    private final short[] emotionCodes;
+    private final short[] mealTypeCodes;
+
+    EatingEvents(int[] minutes, byte[] hunger, byte[] satisfaction, short[] emotionCodes, short[] mealTypeCodes) {
+        this.minutes = minutes;
+        this.hunger = hunger;
+        this.satisfaction = satisfaction;
+        this.emotionCodes = emotionCodes;
+        this.mealTypeCodes = mealTypeCodes;
+    }
+
+    static int minute(LocalDateTime time) {
+        return (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    static byte level(Integer value) {
+        return value == null || value < 1 || value > Byte.MAX_VALUE ? NO_LEVEL : value.byteValue();
+    }
+
+    static short code(Short value) {
+        return value == null ? NO_CODE : value;
+    }
+
+    public int size() {
+        return minutes.length;
+    }
+
+    long bytes() {
+        return (long) minutes.length * EVENT_BYTES;
+    }
+
+    /**
+     * Copy with one more event, kept in eating-time order
+     */
+    EatingEvents with(LocalDateTime eatingTime, Integer hungerLevel, Integer satisfactionLevel,
+                      Short emotionCode, Short mealTypeCode) {
+        int minute = minute(eatingTime);
+        // After any events at the same minute, so the newest log stays last
+        int at = upperBound(minute);
+        return new EatingEvents(
+            insert(minutes, at, minute),
+            insert(hunger, at, level(hungerLevel)),
+            insert(satisfaction, at, level(satisfactionLevel)),
+            insert(emotionCodes, at, code(emotionCode)),
+            insert(mealTypeCodes, at, code(mealTypeCode)));
+    }
+
+    /**
+     * Number of events with eating time in [start, end)
+     */
+    public int countBetween(LocalDateTime start, LocalDateTime end) {
+        return lowerBound(minute(end)) - lowerBound(minute(start));
+    }
+
+    /**
+     * Consecutive days with at least one event, counting back from today and
+     * stopping at the first empty day or after maxDays
+     */
+    public int dayStreak(LocalDate today, int maxDays) {
+        int expected = Math.floorDiv(minute(today.atStartOfDay()), MINUTES_PER_DAY);
+        int streak = 0;
+        for (int i = minutes.length - 1; i >= 0 && streak < maxDays; i--) {
+            int day = Math.floorDiv(minutes[i], MINUTES_PER_DAY);
+            if (day > expected) {
+                // Later on a day already counted, or logged in the future
+                continue;
+            }
+            if (day < expected) {
+                break;
+            }
+            streak++;
+            expected--;
+        }
+        return streak;
+    }
+
+    /**
+     * Features of the events in [start, end). Location and company are not
+     * cached, so their counts are left empty; emotions and meal types without a
+     * code are left out of their counts.
+     */
+    public FoodLogFeatures features(LocalDateTime start, LocalDateTime end, Vocabulary vocabulary) {
+        int from = lowerBound(minute(start));
+        int to = lowerBound(minute(end));
+        long[] hours = new long[24];
+        long[] emotionalHours = new long[24];
+        // Indexed by Vocabulary code
+        long[] emotions = new long[0];
+        long[] mealTypes = new long[0];
+        long emotional = 0;
+        long hungerSum = 0;
+        long hungerCount = 0;
+        long satisfactionSum = 0;
+        long satisfactionCount = 0;
+
+        for (int i = from; i < to; i++) {
+            Integer hungerLevel = hunger[i] == NO_LEVEL ? null : (int) hunger[i];
+            Integer satisfactionLevel = satisfaction[i] == NO_LEVEL ? null : (int) satisfaction[i];
+            int hour = Math.floorMod(minutes[i], MINUTES_PER_DAY) / 60;
+            hours[hour]++;
+            if (FoodLogFeatures.isEmotionalEating(hungerLevel, satisfactionLevel)) {
+                emotional++;
+                emotionalHours[hour]++;
+            }
+            if (hungerLevel != null) {
+                hungerSum += hungerLevel;
+                hungerCount++;
+            }
+            if (satisfactionLevel != null) {
+                satisfactionSum += satisfactionLevel;
+                satisfactionCount++;
+            }
+            emotions = tally(emotions, emotionCodes[i]);
+            mealTypes = tally(mealTypes, mealTypeCodes[i]);
+        }
+
+        FoodLogFeatures features = new FoodLogFeatures();
+        features.setTotalLogs(to - from);
+        features.setEmotionalEatingCount(emotional);
+        features.setHungerSum(hungerSum);
+        features.setHungerCount(hungerCount);
+        features.setSatisfactionSum(satisfactionSum);
+        features.setSatisfactionCount(satisfactionCount);
+        features.setEmotionCounts(decode(emotions, Vocabulary.Kind.EMOTION, vocabulary));
+        features.setMealTypeCounts(decode(mealTypes, Vocabulary.Kind.MEAL_TYPE, vocabulary));
+        features.setHourCounts(hours);
+        features.setEmotionalEatingByHour(emotionalHours);
+        return features;
+    }
+
+    /**
+     * Emotion of the latest event in [start, end) that has one, or null
+     */
+    public String latestEmotion(LocalDateTime start, LocalDateTime end, Vocabulary vocabulary) {
+        int from = lowerBound(minute(start));
+        for (int i = lowerBound(minute(end)) - 1; i >= from; i--) {
+            if (emotionCodes[i] != NO_CODE) {
+                return vocabulary.decode(Vocabulary.Kind.EMOTION, emotionCodes[i]);
+            }
+        }
+        return null;
+    }
+
+    private static long[] tally(long[] counts, short code) {
+        if (code == NO_CODE) {
+            return counts;
+        }
+        if (code >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(code + 1, counts.length * 2));
+        }
+        counts[code]++;
+        return counts;
+    }
+
+    private static Map<String, Long> decode(long[] counts, Vocabulary.Kind kind, Vocabulary vocabulary) {
+        Map<String, Long> decoded = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                String term = vocabulary.decode(kind, (short) code);
+                if (term != null) {
+                    decoded.merge(term, counts[code], Long::sum);
+                }
+            }
+        }
+        return decoded;
+    }
+
+    // First index whose minute is >= the given minute
+    private int lowerBound(int minute) {
+        int low = 0;
+        int high = minutes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minutes[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index whose minute is > the given minute
+    private int upperBound(int minute) {
+        int low = 0;
+        int high = minutes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minutes[mid] <= minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] insert(int[] array, int at, int value) {
+        int[] copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        copy[at] = value;
+        return copy;
+    }
+
+    private static byte[] insert(byte[] array, int at, byte value) {
+        byte[] copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        copy[at] = value;
+        return copy;
+    }
+
+    private static short[] insert(short[] array, int at, short value) {
+        short[] copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        copy[at] = value;
+        return copy;
+    }
+}
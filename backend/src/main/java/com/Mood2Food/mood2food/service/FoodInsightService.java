@@ -1,14 +1,11 @@
 package com.Mood2Food.mood2food.service;
 
-import com.Mood2Food.mood2food.entity.FoodLog;
 import com.Mood2Food.mood2food.entity.Student;
-import com.Mood2Food.mood2food.repository.FoodLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -16,34 +13,50 @@ import java.util.stream.Collectors;
 public class FoodInsightService {
     
     @Autowired
-    private FoodLogRepository foodLogRepository;
+    private FoodLogAggregateService foodLogAggregateService;
+    
+    @Autowired
+    private EatingEventCache eatingEventCache;
+    
+    @Autowired
+    private Vocabulary vocabulary;
+    
+    @Autowired
+    private InsightResultCache insightResultCache;
+    
+    @Autowired
+    private FoodLogDailyBucketService foodLogDailyBucketService;
     
     /**
      * Analyze user's emotional eating patterns from food logs
      */
     public Map<String, Object> analyzeEmotionalEatingPatterns(Student student) {
+        return insightResultCache.get("patterns", student.getId(), () -> computeEmotionalEatingPatterns(student));
+    }
+    
+    private Map<String, Object> computeEmotionalEatingPatterns(Student student) {
         Map<String, Object> insights = new HashMap<>();
         
-        // Get all food logs for the student
-        List<FoodLog> allFoodLogs = foodLogRepository.findByStudentOrderByEatingTimeDesc(student);
+        // Read the student's running aggregate instead of rescanning their history
+        FoodLogFeatures features = foodLogAggregateService.getFeatures(student);
         
-        if (allFoodLogs.isEmpty()) {
+        if (features.getTotalLogs() == 0) {
             insights.put("message", "No food logs found. Start logging your meals to get personalized insights!");
             return insights;
         }
         
         // Analyze emotional eating patterns
-        Map<String, Object> emotionalPatterns = analyzeEmotionalPatterns(allFoodLogs);
+        Map<String, Object> emotionalPatterns = analyzeEmotionalPatterns(features);
         insights.put("emotionalPatterns", emotionalPatterns);
         
         // Analyze time-based patterns
-        Map<String, Object> timePatterns = analyzeTimePatterns(allFoodLogs);
+        Map<String, Object> timePatterns = analyzeTimePatterns(features);
         insights.put("timePatterns", timePatterns);
         
 
         
         // Generate personalized recommendations
-        List<String> recommendations = generateRecommendations(allFoodLogs);
+        List<String> recommendations = generateRecommendations(features);
         insights.put("recommendations", recommendations);
         
 
@@ -51,38 +64,57 @@ public class FoodInsightService {
         return insights;
     }
     
+    /**
+     * Emotional eating patterns over the last {@code days} days, today included
+     */
+    public Map<String, Object> analyzeWindow(Student student, int days) {
+        if (!foodLogDailyBucketService.isSupported(days)) {
+            throw new IllegalArgumentException("Unsupported window: " + days + " days; use one of "
+                + Arrays.toString(foodLogDailyBucketService.getWindows()));
+        }
+        // Keyed by day as well, since the window moves on without any write
+        return insightResultCache.get("window:" + days + ":" + LocalDate.now(), student.getId(),
+            () -> computeWindow(student, days));
+    }
+    
+    private Map<String, Object> computeWindow(Student student, int days) {
+        Map<String, Object> insights = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        insights.put("windowDays", days);
+        insights.put("from", today.minusDays(days - 1L).toString());
+        insights.put("to", today.toString());
+        
+        // Merge at most one small bucket per day of the window
+        FoodLogFeatures features = foodLogDailyBucketService.getWindowFeatures(student, days);
+        
+        if (features.getTotalLogs() == 0) {
+            insights.put("message", "No food logs in the last " + days + " days. Log your meals to get insights for this period!");
+            return insights;
+        }
+        
+        insights.put("emotionalPatterns", analyzeEmotionalPatterns(features));
+        insights.put("timePatterns", analyzeTimePatterns(features));
+        insights.put("recommendations", generateRecommendations(features));
+        
+        return insights;
+    }
+    
     /**
      * Analyze emotional patterns in food logs
      */
-    private Map<String, Object> analyzeEmotionalPatterns(List<FoodLog> foodLogs) {
+    private Map<String, Object> analyzeEmotionalPatterns(FoodLogFeatures features) {
         Map<String, Object> patterns = new HashMap<>();
         
         // Count emotions
-        Map<String, Long> emotionCounts = foodLogs.stream()
-            .filter(log -> log.getEmotionDescription() != null)
-            .collect(Collectors.groupingBy(
-                FoodLog::getEmotionDescription,
-                Collectors.counting()
-            ));
-        
+        Map<String, Long> emotionCounts = new HashMap<>(features.getEmotionCounts());
         patterns.put("emotionCounts", emotionCounts);
         
         // Find most common emotion
-        String mostCommonEmotion = emotionCounts.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse("neutral");
+        patterns.put("mostCommonEmotion", FoodLogFeatures.mostCommon(emotionCounts, "neutral"));
         
-        patterns.put("mostCommonEmotion", mostCommonEmotion);
-        
-        // Analyze emotional eating triggers
-        List<FoodLog> emotionalEatingLogs = foodLogs.stream()
-            .filter(log -> log.getHungerLevel() != null && log.getSatisfactionLevel() != null)
-            .filter(log -> log.getHungerLevel() >= 7 && log.getSatisfactionLevel() <= 5)
-            .collect(Collectors.toList());
-        
-        patterns.put("emotionalEatingCount", emotionalEatingLogs.size());
-        patterns.put("totalLogs", foodLogs.size());
+        // Emotional eating triggers (high hunger, low satisfaction)
+        patterns.put("emotionalEatingCount", features.getEmotionalEatingCount());
+        patterns.put("totalLogs", features.getTotalLogs());
         
         return patterns;
     }
@@ -90,16 +122,11 @@ public class FoodInsightService {
     /**
      * Analyze time-based patterns
      */
-    private Map<String, Object> analyzeTimePatterns(List<FoodLog> foodLogs) {
+    private Map<String, Object> analyzeTimePatterns(FoodLogFeatures features) {
         Map<String, Object> patterns = new HashMap<>();
         
         // Group by hour of day
-        Map<Integer, Long> hourCounts = foodLogs.stream()
-            .collect(Collectors.groupingBy(
-                log -> log.getEatingTime().getHour(),
-                Collectors.counting()
-            ));
-        
+        Map<Integer, Long> hourCounts = features.hourCountMap();
         patterns.put("hourCounts", hourCounts);
         
         // Find peak eating hours
@@ -112,15 +139,7 @@ public class FoodInsightService {
         patterns.put("peakHours", peakHours);
         
         // Analyze emotional eating by time
-        Map<Integer, Long> emotionalEatingByHour = foodLogs.stream()
-            .filter(log -> log.getHungerLevel() != null && log.getSatisfactionLevel() != null)
-            .filter(log -> log.getHungerLevel() >= 7 && log.getSatisfactionLevel() <= 5)
-            .collect(Collectors.groupingBy(
-                log -> log.getEatingTime().getHour(),
-                Collectors.counting()
-            ));
-        
-        patterns.put("emotionalEatingByHour", emotionalEatingByHour);
+        patterns.put("emotionalEatingByHour", features.emotionalEatingByHourMap());
         
         return patterns;
     }
@@ -130,27 +149,16 @@ public class FoodInsightService {
     /**
      * Generate personalized recommendations based on patterns
      */
-    private List<String> generateRecommendations(List<FoodLog> foodLogs) {
+    private List<String> generateRecommendations(FoodLogFeatures features) {
         List<String> recommendations = new ArrayList<>();
         
-        if (foodLogs.isEmpty()) {
+        if (features.getTotalLogs() == 0) {
             recommendations.add("Start logging your meals to get personalized recommendations!");
             return recommendations;
         }
         
-        // Analyze patterns
-        Map<String, Long> emotionCounts = foodLogs.stream()
-            .filter(log -> log.getEmotionDescription() != null)
-            .collect(Collectors.groupingBy(
-                FoodLog::getEmotionDescription,
-                Collectors.counting()
-            ));
-        
         // Find most common emotion
-        String mostCommonEmotion = emotionCounts.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse("neutral");
+        String mostCommonEmotion = FoodLogFeatures.mostCommon(features.getEmotionCounts(), "neutral");
         
         // Generate emotion-specific recommendations
         switch (mostCommonEmotion.toLowerCase()) {
@@ -181,33 +189,14 @@ public class FoodInsightService {
         }
         
         // Time-based recommendations
-        Map<Integer, Long> hourCounts = foodLogs.stream()
-            .collect(Collectors.groupingBy(
-                log -> log.getEatingTime().getHour(),
-                Collectors.counting()
-            ));
-        
-        Integer peakHour = hourCounts.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse(12);
+        int peakHour = features.peakHour(12);
         
         if (peakHour >= 20 || peakHour <= 6) {
             recommendations.add("Consider eating earlier in the day to avoid late-night emotional eating");
         }
         
         // Location-based recommendations
-        Map<String, Long> locationCounts = foodLogs.stream()
-            .filter(log -> log.getLocation() != null)
-            .collect(Collectors.groupingBy(
-                FoodLog::getLocation,
-                Collectors.counting()
-            ));
-        
-        String mostCommonLocation = locationCounts.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse("Home");
+        String mostCommonLocation = FoodLogFeatures.mostCommon(features.getLocationCounts(), "Home");
         
         if (mostCommonLocation.toLowerCase().contains("bedroom") || 
             mostCommonLocation.toLowerCase().contains("couch") ||
@@ -216,54 +205,29 @@ public class FoodInsightService {
         }
         
         // Company-based recommendations
-        Map<String, Long> companyCounts = foodLogs.stream()
-            .filter(log -> log.getCompany() != null)
-            .collect(Collectors.groupingBy(
-                FoodLog::getCompany,
-                Collectors.counting()
-            ));
-        
-        String mostCommonCompany = companyCounts.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse("Alone");
+        String mostCommonCompany = FoodLogFeatures.mostCommon(features.getCompanyCounts(), "Alone");
         
         if (mostCommonCompany.toLowerCase().contains("alone")) {
             recommendations.add("Try sharing meals with friends or family when possible");
         }
         
         // Hunger level analysis
-        double avgHungerLevel = foodLogs.stream()
-            .filter(log -> log.getHungerLevel() != null)
-            .mapToInt(FoodLog::getHungerLevel)
-            .average()
-            .orElse(5.0);
+        double avgHungerLevel = features.averageHunger(5.0);
         
         if (avgHungerLevel <= 3) {
             recommendations.add("You often eat when not very hungry - try waiting until you're genuinely hungry");
         }
         
         // Satisfaction-based recommendations
-        double avgSatisfaction = foodLogs.stream()
-            .filter(log -> log.getSatisfactionLevel() != null)
-            .mapToInt(FoodLog::getSatisfactionLevel)
-            .average()
-            .orElse(5.0);
+        double avgSatisfaction = features.averageSatisfaction(5.0);
         
         if (avgSatisfaction < 6.0) {
             recommendations.add("Focus on foods that truly satisfy you rather than eating for emotional reasons");
         }
         
         // Meal type analysis
-        Map<String, Long> mealTypeCounts = foodLogs.stream()
-            .filter(log -> log.getMealType() != null)
-            .collect(Collectors.groupingBy(
-                FoodLog::getMealType,
-                Collectors.counting()
-            ));
-        
-        long snackCount = mealTypeCounts.getOrDefault("snack", 0L);
-        long totalMeals = foodLogs.size();
+        long snackCount = features.getMealTypeCounts().getOrDefault("snack", 0L);
+        long totalMeals = features.getTotalLogs();
         
         if (snackCount > totalMeals * 0.4) { // If snacks are more than 40% of meals
             recommendations.add("Consider planning more structured meals instead of frequent snacking");
@@ -284,33 +248,31 @@ public class FoodInsightService {
      * Get recent food log insights for chatbot context
      */
     public Map<String, Object> getRecentFoodInsights(Student student) {
+        // Keyed by day as well, since "today" moves on without any write
+        return insightResultCache.get("recent:" + LocalDate.now(), student.getId(), () -> computeRecentFoodInsights(student));
+    }
+    
+    private Map<String, Object> computeRecentFoodInsights(Student student) {
         Map<String, Object> insights = new HashMap<>();
         
-        // Get today's food logs
-        List<FoodLog> todayLogs = foodLogRepository.findByStudentAndDate(student, LocalDate.now());
+        // Scan today's events in the columnar cache instead of loading today's food logs
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.atStartOfDay();
+        LocalDateTime end = today.plusDays(1).atStartOfDay();
+        EatingEvents events = eatingEventCache.events(student.getId());
         
-        if (!todayLogs.isEmpty()) {
+        if (events.countBetween(start, end) > 0) {
             // Analyze today's patterns
-            Map<String, Object> todayPatterns = analyzeEmotionalPatterns(todayLogs);
+            FoodLogFeatures todayFeatures = events.features(start, end, vocabulary);
+            Map<String, Object> todayPatterns = analyzeEmotionalPatterns(todayFeatures);
             insights.put("todayPatterns", todayPatterns);
             
             // Get most recent emotion
-            String recentEmotion = todayLogs.stream()
-                .filter(log -> log.getEmotionDescription() != null)
-                .max(Comparator.comparing(FoodLog::getEatingTime))
-                .map(FoodLog::getEmotionDescription)
-                .orElse("neutral");
-            
-            insights.put("recentEmotion", recentEmotion);
+            String recentEmotion = events.latestEmotion(start, end, vocabulary);
+            insights.put("recentEmotion", recentEmotion != null ? recentEmotion : "neutral");
             
             // Get average satisfaction today
-            double avgSatisfaction = todayLogs.stream()
-                .filter(log -> log.getSatisfactionLevel() != null)
-                .mapToInt(FoodLog::getSatisfactionLevel)
-                .average()
-                .orElse(5.0);
-            
-            insights.put("avgSatisfactionToday", avgSatisfaction);
+            insights.put("avgSatisfactionToday", todayFeatures.averageSatisfaction(5.0));
         }
         
         return insights;
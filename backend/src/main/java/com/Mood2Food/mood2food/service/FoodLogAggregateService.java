@@ -0,0 +1,158 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLogAggregate;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogAggregateRepository;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Per-student food log aggregates. Writes apply the changed log's features to the
+ * student's aggregate row under a row lock, in the caller's transaction, so reads
+ * of stats and insights cost one row instead of a scan of the whole history. A
+ * nightly job recounts every student from food_logs to repair any drift.
+ */
+@Service
+public class FoodLogAggregateService {
+
+    @Autowired
+    private FoodLogAggregateRepository aggregateRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${food-log.aggregates.rebuild-page-size:200}")
+    private int rebuildPageSize;
+
+    /**
+     * Subtract the features of a log's old state and add those of its new state.
+     * Either side may be null (create / delete). Must run in the same transaction
+     * as the food log write.
+     */
+    @Transactional
+    public void apply(Student student, FoodLogFeatures removed, FoodLogFeatures added) {
+        Optional<FoodLogAggregate> existing = aggregateRepository.findForUpdate(student.getId());
+        if (existing.isEmpty()) {
+            // No aggregate yet: count from history, which already includes this write
+            rebuild(student);
+            return;
+        }
+        FoodLogAggregate aggregate = existing.get();
+        FoodLogFeatures features = read(aggregate);
+        if (removed != null) {
+            features.merge(removed, -1);
+        }
+        if (added != null) {
+            features.merge(added, 1);
+        }
+        write(aggregate, features);
+    }
+
+    /**
+     * The student's aggregate row, locked until the caller's transaction ends so
+     * other per-student derived state can be written one transaction at a time
+     */
+    @Transactional
+    public FoodLogAggregate lock(Student student) {
+        return aggregateRepository.findForUpdate(student.getId()).orElseGet(() -> {
+            rebuild(student);
+            return aggregateRepository.findForUpdate(student.getId()).orElseThrow();
+        });
+    }
+
+    @Transactional
+    public FoodLogFeatures getFeatures(Student student) {
+        return aggregateRepository.findById(student.getId())
+            .map(this::read)
+            .orElseGet(() -> rebuild(student));
+    }
+
+    /**
+     * Recount a student's aggregate from their full food log history
+     */
+    @Transactional
+    public FoodLogFeatures rebuild(Student student) {
+        // Lock before counting, so no write can commit in between and be overwritten
+        Optional<FoodLogAggregate> existing = aggregateRepository.findForUpdate(student.getId());
+        FoodLogAggregate aggregate = existing.orElseGet(() -> {
+            aggregateRepository.insertIfMissing(student.getId(), LocalDateTime.now());
+            return aggregateRepository.findForUpdate(student.getId()).orElseThrow();
+        });
+        FoodLogFeatures features = FoodLogFeatures.of(foodLogRepository.findByStudentOrderByEatingTimeDesc(student));
+        if (existing.isPresent() && !features.equals(readOrNull(aggregate))) {
+            System.out.println("Food log aggregate for student " + student.getId() + " had drifted; rebuilt");
+        }
+        write(aggregate, features);
+        aggregate.setRebuiltAt(aggregate.getUpdatedAt());
+        aggregateRepository.save(aggregate);
+        return features;
+    }
+
+    @Scheduled(cron = "${food-log.aggregates.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        int rebuilt = 0;
+        Page<Student> students;
+        int page = 0;
+        do {
+            students = studentRepository.findAll(PageRequest.of(page++, rebuildPageSize, Sort.by("id")));
+            for (Student student : students) {
+                try {
+                    // One short transaction per student
+                    transactionTemplate.executeWithoutResult(status -> rebuild(student));
+                    rebuilt++;
+                } catch (Exception e) {
+                    System.err.println("Failed to rebuild food log aggregate for student " + student.getId() + ": " + e.getMessage());
+                }
+            }
+        } while (students.hasNext());
+        System.out.println("Rebuilt food log aggregates for " + rebuilt + " students");
+    }
+
+    private FoodLogFeatures read(FoodLogAggregate aggregate) {
+        try {
+            return objectMapper.readValue(aggregate.getFeatures(), FoodLogFeatures.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt food log aggregate for student " + aggregate.getStudentId(), e);
+        }
+    }
+
+    private FoodLogFeatures readOrNull(FoodLogAggregate aggregate) {
+        try {
+            return read(aggregate);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private void write(FoodLogAggregate aggregate, FoodLogFeatures features) {
+        try {
+            aggregate.setFeatures(objectMapper.writeValueAsString(features));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize food log aggregate", e);
+        }
+        aggregate.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,171 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Extracts FoodLogFeatures from a list of food logs in a single pass. Hours and
+ * 1-10 levels are tallied in int arrays, and emotions, meal types, locations and
+ * companies are interned into small dictionaries with int counters, so the loop
+ * allocates nothing per log; the boxed maps are only built once at the end.
+ * Emotions and meal types carrying a Vocabulary code are counted by that code
+ * without hashing the string at all.
+ */
+public final class FoodLogAnalyzer {
+
+    private static final int LEVELS = 11;
+
+    private FoodLogAnalyzer() {
+    }
+
+    public static FoodLogFeatures analyze(Iterable<FoodLog> foodLogs) {
+        int total = 0;
+        int emotionalEating = 0;
+        int[] hours = new int[24];
+        int[] emotionalHours = new int[24];
+        int[] hungerLevels = new int[LEVELS];
+        int[] satisfactionLevels = new int[LEVELS];
+        // Levels outside 1-10 are rare but still count towards the averages
+        long otherHungerSum = 0;
+        long otherHungerCount = 0;
+        long otherSatisfactionSum = 0;
+        long otherSatisfactionCount = 0;
+        Dictionary emotions = new Dictionary();
+        Dictionary mealTypes = new Dictionary();
+        Dictionary locations = new Dictionary();
+        Dictionary companies = new Dictionary();
+
+        for (FoodLog foodLog : foodLogs) {
+            Integer hunger = foodLog.getHungerLevel();
+            Integer satisfaction = foodLog.getSatisfactionLevel();
+            boolean emotional = FoodLogFeatures.isEmotionalEating(hunger, satisfaction);
+
+            total++;
+            if (emotional) {
+                emotionalEating++;
+            }
+            if (hunger != null) {
+                if (hunger >= 1 && hunger < LEVELS) {
+                    hungerLevels[hunger]++;
+                } else {
+                    otherHungerSum += hunger;
+                    otherHungerCount++;
+                }
+            }
+            if (satisfaction != null) {
+                if (satisfaction >= 1 && satisfaction < LEVELS) {
+                    satisfactionLevels[satisfaction]++;
+                } else {
+                    otherSatisfactionSum += satisfaction;
+                    otherSatisfactionCount++;
+                }
+            }
+            emotions.count(foodLog.getEmotionCode(), foodLog.getEmotionDescription());
+            mealTypes.count(foodLog.getMealTypeCode(), foodLog.getMealType());
+            locations.count(foodLog.getLocation());
+            companies.count(foodLog.getCompany());
+            if (foodLog.getEatingTime() != null) {
+                int hour = foodLog.getEatingTime().getHour();
+                hours[hour]++;
+                if (emotional) {
+                    emotionalHours[hour]++;
+                }
+            }
+        }
+
+        FoodLogFeatures features = new FoodLogFeatures();
+        features.setTotalLogs(total);
+        features.setEmotionalEatingCount(emotionalEating);
+        features.setHungerSum(weightedSum(hungerLevels) + otherHungerSum);
+        features.setHungerCount(sum(hungerLevels) + otherHungerCount);
+        features.setSatisfactionSum(weightedSum(satisfactionLevels) + otherSatisfactionSum);
+        features.setSatisfactionCount(sum(satisfactionLevels) + otherSatisfactionCount);
+        features.setEmotionCounts(emotions.toMap());
+        features.setMealTypeCounts(mealTypes.toMap());
+        features.setLocationCounts(locations.toMap());
+        features.setCompanyCounts(companies.toMap());
+        features.setHourCounts(Arrays.stream(hours).asLongStream().toArray());
+        features.setEmotionalEatingByHour(Arrays.stream(emotionalHours).asLongStream().toArray());
+        return features;
+    }
+
+    private static long sum(int[] histogram) {
+        long sum = 0;
+        for (int count : histogram) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private static long weightedSum(int[] histogram) {
+        long sum = 0;
+        for (int level = 0; level < histogram.length; level++) {
+            sum += (long) level * histogram[level];
+        }
+        return sum;
+    }
+
+    // Interns each distinct value once and counts occurrences by id
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] values = new String[8];
+        private int[] counts = new int[8];
+        private String lastValue;
+        private int lastId = -1;
+        // Vocabulary code -> id + 1, 0 until the code is first seen
+        private int[] idsByCode = new int[0];
+
+        // Coded values skip the string lookup: the code maps straight to an id
+        void count(Short code, String value) {
+            if (code == null || code < 0 || value == null) {
+                count(value);
+                return;
+            }
+            if (code >= idsByCode.length) {
+                idsByCode = Arrays.copyOf(idsByCode, Math.max(code + 1, idsByCode.length * 2));
+            }
+            int id = idsByCode[code] - 1;
+            if (id < 0) {
+                count(value);
+                idsByCode[code] = lastId + 1;
+                return;
+            }
+            counts[id]++;
+        }
+
+        void count(String value) {
+            if (value == null) {
+                return;
+            }
+            // Consecutive logs often repeat the same value
+            if (lastId >= 0 && value.equals(lastValue)) {
+                counts[lastId]++;
+                return;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = ids.size();
+                ids.put(value, id);
+                if (id == values.length) {
+                    values = Arrays.copyOf(values, id * 2);
+                    counts = Arrays.copyOf(counts, id * 2);
+                }
+                values[id] = value;
+            }
+            counts[id]++;
+            lastValue = value;
+            lastId = id;
+        }
+
+        Map<String, Long> toMap() {
+            Map<String, Long> map = new HashMap<>();
+            for (int id = 0; id < ids.size(); id++) {
+                map.put(values[id], (long) counts[id]);
+            }
+            return map;
+        }
+    }
+}
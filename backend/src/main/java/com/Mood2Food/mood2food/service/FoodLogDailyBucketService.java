@@ -0,0 +1,219 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.FoodLogAggregate;
+import com.Mood2Food.mood2food.entity.FoodLogDailyBucket;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogAggregateRepository;
+import com.Mood2Food.mood2food.repository.FoodLogDailyBucketRepository;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-student, per-day food log features for rolling-window insights. Writes
+ * apply the changed log's features to the bucket of its eating day, in the
+ * caller's transaction, so an N-day window is a merge of at most N small rows
+ * however long the student's history is. Bucket writes hold the student's
+ * aggregate row lock, which also records when the buckets were built: the
+ * first write after that is unset builds them from the food logs inside the
+ * longest window. A nightly job drops days that have fallen out of it.
+ */
+@Service
+public class FoodLogDailyBucketService {
+
+    @Autowired
+    private FoodLogDailyBucketRepository bucketRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private FoodLogAggregateRepository aggregateRepository;
+
+    @Autowired
+    private FoodLogAggregateService foodLogAggregateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${insights.windows:7,30,90}")
+    private int[] windows;
+
+    public int[] getWindows() {
+        return windows.clone();
+    }
+
+    public boolean isSupported(int days) {
+        return Arrays.stream(windows).anyMatch(window -> window == days);
+    }
+
+    /**
+     * Subtract the features of a log's old state from its old day and add those
+     * of its new state to its new day. Either side may be null (create / delete).
+     * Must run in the same transaction as the food log write.
+     */
+    @Transactional
+    public void apply(Student student, LocalDate removedDay, FoodLogFeatures removed,
+                      LocalDate addedDay, FoodLogFeatures added) {
+        if (buildIfMissing(student)) {
+            // Built from history, which already includes this write
+            return;
+        }
+        if (removed != null && addedDay != null && addedDay.equals(removedDay)) {
+            // Same day: one bucket update instead of two
+            FoodLogFeatures delta = new FoodLogFeatures();
+            delta.merge(added, 1);
+            delta.merge(removed, -1);
+            applyToDay(student, addedDay, delta);
+            return;
+        }
+        if (removed != null) {
+            FoodLogFeatures delta = new FoodLogFeatures();
+            delta.merge(removed, -1);
+            applyToDay(student, removedDay, delta);
+        }
+        if (added != null) {
+            applyToDay(student, addedDay, added);
+        }
+    }
+
+    /**
+     * Add a batch of newly saved logs, one bucket update per eating day
+     */
+    @Transactional
+    public void addAll(Student student, List<FoodLog> foodLogs) {
+        if (buildIfMissing(student)) {
+            return;
+        }
+        Map<LocalDate, List<FoodLog>> byDay = foodLogs.stream()
+            .collect(Collectors.groupingBy(foodLog -> foodLog.getEatingTime().toLocalDate()));
+        byDay.forEach((day, logs) -> applyToDay(student, day, FoodLogFeatures.of(logs)));
+    }
+
+    /**
+     * Features of the logs eaten in the last {@code days} days, today included.
+     * Never writes: until the student's next food log write builds the buckets,
+     * the window is counted from the food logs inside it.
+     */
+    @Transactional(readOnly = true)
+    public FoodLogFeatures getWindowFeatures(Student student, int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(days - 1L);
+        boolean built = aggregateRepository.findById(student.getId())
+            .map(aggregate -> aggregate.getBucketsBuiltAt() != null)
+            .orElse(false);
+        if (!built) {
+            return FoodLogFeatures.of(foodLogRepository.findByStudentAndEatingTimeInRange(
+                student, from.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+        }
+        FoodLogFeatures features = new FoodLogFeatures();
+        for (FoodLogDailyBucket bucket : bucketRepository.findInRange(student.getId(), from, today)) {
+            features.merge(read(bucket), 1);
+        }
+        return features;
+    }
+
+    /**
+     * Recount a student's buckets from their food logs inside the longest window
+     */
+    @Transactional
+    public void rebuild(Student student) {
+        FoodLogAggregate aggregate = foodLogAggregateService.lock(student);
+        rebuildLocked(student, aggregate);
+    }
+
+    // Locks the student's aggregate row, which serializes every bucket write for
+    // them, and builds the buckets if they never were; true if it built them
+    private boolean buildIfMissing(Student student) {
+        FoodLogAggregate aggregate = foodLogAggregateService.lock(student);
+        if (aggregate.getBucketsBuiltAt() != null) {
+            return false;
+        }
+        rebuildLocked(student, aggregate);
+        return true;
+    }
+
+    private void rebuildLocked(Student student, FoodLogAggregate aggregate) {
+        bucketRepository.deleteByStudent(student.getId());
+        LocalDateTime start = horizon().atStartOfDay();
+        Map<LocalDate, List<FoodLog>> byDay = foodLogRepository.findRecentFoodLogs(student, start).stream()
+            .collect(Collectors.groupingBy(foodLog -> foodLog.getEatingTime().toLocalDate(), TreeMap::new, Collectors.toList()));
+        byDay.forEach((day, logs) -> {
+            FoodLogDailyBucket bucket = new FoodLogDailyBucket();
+            bucket.setStudentId(student.getId());
+            bucket.setBucketDate(day);
+            write(bucket, FoodLogFeatures.of(logs));
+            bucketRepository.save(bucket);
+        });
+        // Set even when no log is inside the window, so reads and writes stop rescanning
+        aggregate.setBucketsBuiltAt(LocalDateTime.now());
+        aggregateRepository.save(aggregate);
+    }
+
+    @Scheduled(cron = "${insights.windows.expire-cron:0 15 4 * * *}")
+    @Transactional
+    public void expireBuckets() {
+        int expired = bucketRepository.deleteOlderThan(horizon());
+        System.out.println("Expired " + expired + " daily food log buckets");
+    }
+
+    // First day of the longest window; older days are never read
+    private LocalDate horizon() {
+        int longest = Arrays.stream(windows).max().orElse(1);
+        return LocalDate.now().minusDays(longest - 1L);
+    }
+
+    private void applyToDay(Student student, LocalDate day, FoodLogFeatures delta) {
+        if (day.isBefore(horizon())) {
+            return;
+        }
+        FoodLogDailyBucket bucket = bucketRepository.findForUpdate(student.getId(), day).orElseGet(() -> {
+            FoodLogDailyBucket created = new FoodLogDailyBucket();
+            created.setStudentId(student.getId());
+            created.setBucketDate(day);
+            return created;
+        });
+        FoodLogFeatures features = bucket.getFeatures() != null ? read(bucket) : new FoodLogFeatures();
+        features.merge(delta, 1);
+        if (features.getTotalLogs() <= 0) {
+            // Last log of the day is gone
+            if (bucket.getFeatures() != null) {
+                bucketRepository.delete(bucket);
+            }
+            return;
+        }
+        write(bucket, features);
+        bucketRepository.save(bucket);
+    }
+
+    private FoodLogFeatures read(FoodLogDailyBucket bucket) {
+        try {
+            return objectMapper.readValue(bucket.getFeatures(), FoodLogFeatures.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt daily food log bucket for student " + bucket.getStudentId(), e);
+        }
+    }
+
+    private void write(FoodLogDailyBucket bucket, FoodLogFeatures features) {
+        try {
+            bucket.setFeatures(objectMapper.writeValueAsString(features));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize daily food log bucket", e);
+        }
+        bucket.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,122 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters describing a set of food logs: totals by emotion, meal type, hour of
+ * day, location and company, hunger/satisfaction sums and the emotional-eating
+ * count. Feature sets can be added and subtracted, which is what lets a student's
+ * aggregate be maintained incrementally as logs are created, edited and deleted.
+ * Built from logs by {@link FoodLogAnalyzer}; every insight and recommendation is
+ * derived from these counters.
+ */
+@Data
+public class FoodLogFeatures {
+
+    private long totalLogs;
+    private long emotionalEatingCount;
+    private long hungerSum;
+    private long hungerCount;
+    private long satisfactionSum;
+    private long satisfactionCount;
+    private Map<String, Long> emotionCounts = new HashMap<>();
+    private Map<String, Long> mealTypeCounts = new HashMap<>();
+    private Map<String, Long> locationCounts = new HashMap<>();
+    private Map<String, Long> companyCounts = new HashMap<>();
+    private long[] hourCounts = new long[24];
+    private long[] emotionalEatingByHour = new long[24];
+
+    public static FoodLogFeatures of(FoodLog foodLog) {
+        return FoodLogAnalyzer.analyze(List.of(foodLog));
+    }
+
+    public static FoodLogFeatures of(Collection<FoodLog> foodLogs) {
+        return FoodLogAnalyzer.analyze(foodLogs);
+    }
+
+    // High hunger but low satisfaction
+    public static boolean isEmotionalEating(Integer hungerLevel, Integer satisfactionLevel) {
+        return hungerLevel != null && satisfactionLevel != null && hungerLevel >= 7 && satisfactionLevel <= 5;
+    }
+
+    /**
+     * Add (sign 1) or subtract (sign -1) another feature set from this one
+     */
+    public void merge(FoodLogFeatures other, int sign) {
+        totalLogs += sign * other.totalLogs;
+        emotionalEatingCount += sign * other.emotionalEatingCount;
+        hungerSum += sign * other.hungerSum;
+        hungerCount += sign * other.hungerCount;
+        satisfactionSum += sign * other.satisfactionSum;
+        satisfactionCount += sign * other.satisfactionCount;
+        other.emotionCounts.forEach((key, count) -> increment(emotionCounts, key, sign * count));
+        other.mealTypeCounts.forEach((key, count) -> increment(mealTypeCounts, key, sign * count));
+        other.locationCounts.forEach((key, count) -> increment(locationCounts, key, sign * count));
+        other.companyCounts.forEach((key, count) -> increment(companyCounts, key, sign * count));
+        for (int hour = 0; hour < 24; hour++) {
+            hourCounts[hour] += sign * other.hourCounts[hour];
+            emotionalEatingByHour[hour] += sign * other.emotionalEatingByHour[hour];
+        }
+    }
+
+    public double averageHunger(double fallback) {
+        return hungerCount > 0 ? (double) hungerSum / hungerCount : fallback;
+    }
+
+    public double averageSatisfaction(double fallback) {
+        return satisfactionCount > 0 ? (double) satisfactionSum / satisfactionCount : fallback;
+    }
+
+    // Hours with at least one log, keyed by hour of day
+    public Map<Integer, Long> hourCountMap() {
+        return toHourMap(hourCounts);
+    }
+
+    public Map<Integer, Long> emotionalEatingByHourMap() {
+        return toHourMap(emotionalEatingByHour);
+    }
+
+    // Busiest hour of day; the earliest hour wins a tie
+    public int peakHour(int fallback) {
+        int peak = fallback;
+        long best = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            if (hourCounts[hour] > best) {
+                best = hourCounts[hour];
+                peak = hour;
+            }
+        }
+        return peak;
+    }
+
+    public static String mostCommon(Map<String, Long> counts, String fallback) {
+        return counts.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .orElse(fallback);
+    }
+
+    private static Map<Integer, Long> toHourMap(long[] counts) {
+        Map<Integer, Long> byHour = new HashMap<>();
+        for (int hour = 0; hour < counts.length; hour++) {
+            if (counts[hour] > 0) {
+                byHour.put(hour, counts[hour]);
+            }
+        }
+        return byHour;
+    }
+
+    private static void increment(Map<String, Long> counts, String key, long delta) {
+        if (key == null) {
+            return;
+        }
+        // Drop keys that reach zero so subtracting a log leaves no trace of it
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,219 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.dto.FoodLogImportResult;
+import com.Mood2Food.mood2food.dto.FoodLogImportResult.RowError;
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk food log import from NDJSON (one FoodLogRequest object per line) or CSV
+ * (header row naming FoodLogRequest fields). Input is parsed as a stream and
+ * saved in chunks, each chunk in its own short transaction written as one JDBC
+ * batch, so memory and connection use stay flat however large the upload is.
+ * Invalid rows are skipped and reported; valid rows are saved.
+ */
+@Service
+public class FoodLogImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private FoodLogAggregateService foodLogAggregateService;
+
+    @Autowired
+    private FoodLogSuggestionIndex foodLogSuggestionIndex;
+    
+    @Autowired
+    private FoodLogDailyBucketService foodLogDailyBucketService;
+    
+    @Autowired
+    private EatingEventCache eatingEventCache;
+    
+    @Autowired
+    private StudentDataVersion studentDataVersion;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${food-log.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${food-log.import.max-rows:10000}")
+    private int maxRows;
+
+    private final Semaphore running;
+
+    public FoodLogImportService(@Value("${food-log.import.max-concurrent:2}") int maxConcurrent) {
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    public FoodLogImportResult importFoodLogs(UUID studentId, Format format, InputStream input) throws IOException {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+
+        // A few imports at a time, so bulk uploads can't take over the connection pool
+        if (!running.tryAcquire()) {
+            throw new IllegalStateException("Too many imports in progress, try again shortly");
+        }
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            Import job = new Import(student);
+            if (format == Format.CSV) {
+                readCsv(reader, job);
+            } else {
+                readNdjson(reader, job);
+            }
+            job.flush();
+            return new FoodLogImportResult(job.imported, job.errors.size(), job.errors);
+        } finally {
+            running.release();
+        }
+    }
+
+    private void readNdjson(Reader reader, Import job) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int row = 0;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (++row > maxRows) {
+                job.rejectRest(row);
+                break;
+            }
+            try {
+                job.add(row, objectMapper.readValue(line, FoodLogRequest.class));
+            } catch (JsonProcessingException e) {
+                job.reject(row, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(Reader reader, Import job) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+        int row = 0;
+        try (CSVParser parser = format.parse(reader)) {
+            for (CSVRecord record : parser) {
+                if (++row > maxRows) {
+                    job.rejectRest(row);
+                    break;
+                }
+                // Blank cells mean "not provided"
+                Map<String, String> values = new HashMap<>();
+                record.toMap().forEach((column, value) -> {
+                    if (value != null && !value.isEmpty()) {
+                        values.put(column, value);
+                    }
+                });
+                try {
+                    job.add(row, objectMapper.convertValue(values, FoodLogRequest.class));
+                } catch (IllegalArgumentException e) {
+                    job.reject(row, "Invalid value: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // State of one import: the pending chunk, running totals and row errors
+    private class Import {
+        final Student student;
+        final List<FoodLog> pending = new ArrayList<>(chunkSize);
+        final List<RowError> errors = new ArrayList<>();
+        int imported;
+
+        Import(Student student) {
+            this.student = student;
+        }
+
+        void add(int row, FoodLogRequest request) {
+            Set<ConstraintViolation<FoodLogRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            pending.add(foodLogService.buildFoodLog(student, request));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String message) {
+            errors.add(new RowError(row, message));
+        }
+
+        void rejectRest(int row) {
+            reject(row, "Row limit of " + maxRows + " reached; this and any later rows were not imported");
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                foodLogRepository.saveAll(pending);
+                foodLogAggregateService.apply(student, null, FoodLogFeatures.of(pending));
+                foodLogDailyBucketService.addAll(student, pending);
+                // Registered inside the transaction, so they apply once the chunk commits
+                for (FoodLog foodLog : pending) {
+                    foodLogSuggestionIndex.add(student.getId(), foodLog);
+                    eatingEventCache.append(student.getId(), foodLog);
+                }
+                studentDataVersion.bump(student.getId());
+            });
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+}
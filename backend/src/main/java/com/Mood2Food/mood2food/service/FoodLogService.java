@@ -1,14 +1,27 @@
 package com.Mood2Food.mood2food.service;
 
+import com.Mood2Food.mood2food.dto.FoodLogFilter;
+import com.Mood2Food.mood2food.dto.FoodLogPageResponse;
 import com.Mood2Food.mood2food.dto.FoodLogRequest;
 import com.Mood2Food.mood2food.dto.FoodLogResponse;
+import com.Mood2Food.mood2food.dto.FoodLogSyncResponse;
 import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.FoodLogTombstone;
 import com.Mood2Food.mood2food.entity.Student;
 import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.FoodLogSpecifications;
+import com.Mood2Food.mood2food.repository.FoodLogTombstoneRepository;
 import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -17,179 +30,278 @@ import java.util.stream.Collectors;
 @Service
 public class FoodLogService {
     
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SUGGESTIONS = 10;
+    
+    // Fields a sparse listing may ask for, in response order
+    private static final List<String> RESPONSE_FIELDS = List.of(
+            "id", "foodItem", "quantity", "mealType", "eatingTime", "emotionEmoji", "emotionDescription",
+            "hungerLevel", "satisfactionLevel", "location", "company", "notes", "createdAt");
+    
     @Autowired
     private FoodLogRepository foodLogRepository;
     
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private FoodLogAggregateService foodLogAggregateService;
+    
+    @Autowired
+    private FoodLogTombstoneRepository foodLogTombstoneRepository;
+    
+    @Autowired
+    private FoodLogSuggestionIndex foodLogSuggestionIndex;
+    
+    @Autowired
+    private Vocabulary vocabulary;
+    
+    @Autowired
+    private EatingEventCache eatingEventCache;
+    
+    @Autowired
+    private FoodLogDailyBucketService foodLogDailyBucketService;
+    
+    @Autowired
+    private TrendingSketches trendingSketches;
+    
+    @Autowired
+    private StudentDataVersion studentDataVersion;
+    
+    // Changes newer than this are held back so a slower transaction that stamped an
+    // earlier time can still commit before the watermark moves past it
+    @Value("${food-log.sync.settle-ms:5000}")
+    private long syncSettleMs;
+    
+    @Value("${food-log.sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+    
     // Create a new food log
+    @Transactional
     public FoodLogResponse createFoodLog(UUID studentId, FoodLogRequest request) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         
+        FoodLog foodLog = buildFoodLog(student, request);
+        FoodLog savedFoodLog = foodLogRepository.save(foodLog);
+        FoodLogFeatures added = FoodLogFeatures.of(savedFoodLog);
+        foodLogAggregateService.apply(student, null, added);
+        foodLogDailyBucketService.apply(student, null, null, savedFoodLog.getEatingTime().toLocalDate(), added);
+        foodLogSuggestionIndex.add(studentId, savedFoodLog);
+        eatingEventCache.append(studentId, savedFoodLog);
+        // Sketch counts cannot be taken back, so only committed creates are recorded
+        String foodItem = savedFoodLog.getFoodItem();
+        String emotion = savedFoodLog.getEmotionDescription();
+        AfterCommit.run(() -> trendingSketches.record(studentId, foodItem, emotion));
+        studentDataVersion.bump(studentId);
+        return convertToResponse(savedFoodLog);
+    }
+    
+    // Build an unsaved food log from a request
+    public FoodLog buildFoodLog(Student student, FoodLogRequest request) {
         FoodLog foodLog = new FoodLog();
         foodLog.setStudent(student);
         foodLog.setFoodItem(request.getFoodItem());
         foodLog.setQuantity(request.getQuantity());
-        foodLog.setMealType(request.getMealType());
+        foodLog.setMealType(Vocabulary.normalize(request.getMealType()));
+        foodLog.setMealTypeCode(vocabulary.encode(Vocabulary.Kind.MEAL_TYPE, foodLog.getMealType()));
         foodLog.setEatingTime(request.getEatingTime() != null ? request.getEatingTime() : LocalDateTime.now());
         foodLog.setEmotionEmoji(request.getEmotionEmoji());
-        foodLog.setEmotionDescription(request.getEmotionDescription());
+        foodLog.setEmotionDescription(Vocabulary.normalize(request.getEmotionDescription()));
+        foodLog.setEmotionCode(vocabulary.encode(Vocabulary.Kind.EMOTION, foodLog.getEmotionDescription()));
         foodLog.setHungerLevel(request.getHungerLevel());
         foodLog.setSatisfactionLevel(request.getSatisfactionLevel());
         foodLog.setLocation(request.getLocation());
         foodLog.setCompany(request.getCompany());
         foodLog.setNotes(request.getNotes());
         
-        FoodLog savedFoodLog = foodLogRepository.save(foodLog);
-        return convertToResponse(savedFoodLog);
+        return foodLog;
     }
     
     // Get all food logs for a student
     public List<FoodLogResponse> getFoodLogs(UUID studentId) {
+        return foodLogRepository.findResponsesByStudentId(studentId);
+    }
+    
+    // Get one page of food logs, newest first, matching the filter
+    public FoodLogPageResponse getFoodLogPage(UUID studentId, FoodLogFilter filter, String cursor, int limit, String fields) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         
-        List<FoodLog> foodLogs = foodLogRepository.findByStudentOrderByEatingTimeDesc(student);
-        return foodLogs.stream()
-                .map(this::convertToResponse)
+        List<String> selectedFields = parseFields(fields);
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Stored values are normalized, so match the filter the same way
+        FoodLogFilter normalized = new FoodLogFilter(Vocabulary.normalize(filter.mealType()),
+                Vocabulary.normalize(filter.emotion()), filter.from(), filter.to(),
+                filter.minSatisfaction(), filter.maxSatisfaction());
+        
+        // Fetch one extra row to know whether another page exists
+        List<FoodLog> rows = foodLogRepository.findBy(FoodLogSpecifications.page(student, normalized, after),
+                query -> query.sortBy(Sort.by(Sort.Order.desc("eatingTime"), Sort.Order.desc("id")))
+                        .limit(pageSize + 1)
+                        .all());
+        boolean hasMore = rows.size() > pageSize;
+        List<FoodLog> page = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        List<Object> foodLogs = page.stream()
+                .map(foodLog -> selectedFields == null ? convertToResponse(foodLog) : selectFields(foodLog, selectedFields))
                 .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasMore) {
+            FoodLog last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getEatingTime(), last.getId()).encode();
+        }
+        return new FoodLogPageResponse(foodLogs, nextCursor, hasMore);
     }
     
-    // Get food logs for today
-    public List<FoodLogResponse> getTodayFoodLogs(UUID studentId) {
+    // Get food logs created, updated or deleted since the watermark, oldest change first.
+    // No watermark means a full sync, which returns every food log and no deletes.
+    @Transactional(readOnly = true)
+    public FoodLogSyncResponse getFoodLogChanges(UUID studentId, String since, int limit) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         
-        LocalDate today = LocalDate.now();
-        List<FoodLog> foodLogs = foodLogRepository.findByStudentAndDate(student, today);
-        return foodLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        KeysetCursor after = since != null && !since.isBlank() ? KeysetCursor.decode(since) : null;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime until = LocalDateTime.now().minus(Duration.ofMillis(syncSettleMs));
+        
+        if (after != null && after.timestamp().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays))) {
+            return new FoodLogSyncResponse(List.of(), List.of(), null, false, true);
+        }
+        
+        // Each source is already in (changedAt, id) order; one extra row from each is
+        // enough to fill the page from their merge and know whether more remain
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        List<FoodLog> changed;
+        List<FoodLogTombstone> deleted;
+        if (after == null) {
+            changed = foodLogRepository.findChangedBefore(student, until, fetch);
+            deleted = List.of();
+        } else {
+            changed = foodLogRepository.findChangedAfter(student, after.timestamp(), after.id(), until, fetch);
+            deleted = foodLogTombstoneRepository.findDeletedAfter(studentId, after.timestamp(), after.id(), until, fetch);
+        }
+        
+        List<FoodLogResponse> upserts = new ArrayList<>();
+        List<UUID> deletes = new ArrayList<>();
+        KeysetCursor last = null;
+        int c = 0;
+        int d = 0;
+        while (upserts.size() + deletes.size() < pageSize && (c < changed.size() || d < deleted.size())) {
+            boolean takeChanged = d == deleted.size() || (c < changed.size()
+                    && compareChange(changed.get(c).getUpdatedAt(), changed.get(c).getId(),
+                                     deleted.get(d).getDeletedAt(), deleted.get(d).getFoodLogId()) < 0);
+            if (takeChanged) {
+                FoodLog foodLog = changed.get(c++);
+                upserts.add(convertToResponse(foodLog));
+                last = new KeysetCursor(foodLog.getUpdatedAt(), foodLog.getId());
+            } else {
+                FoodLogTombstone tombstone = deleted.get(d++);
+                deletes.add(tombstone.getFoodLogId());
+                last = new KeysetCursor(tombstone.getDeletedAt(), tombstone.getFoodLogId());
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        // Caught up: everything before the horizon has been sent, so move the watermark
+        // to the horizon itself and idle clients don't drift past tombstone retention
+        KeysetCursor watermark = hasMore ? last : new KeysetCursor(until, new UUID(0, 0));
+        return new FoodLogSyncResponse(upserts, deletes, watermark.encode(), hasMore, false);
+    }
+    
+    // Same order as the database: timestamp, then id compared as unsigned bytes
+    // (UUID.compareTo is signed, which would disagree on ties)
+    private static int compareChange(LocalDateTime time, UUID id, LocalDateTime otherTime, UUID otherId) {
+        int result = time.compareTo(otherTime);
+        if (result == 0) {
+            result = Long.compareUnsigned(id.getMostSignificantBits(), otherId.getMostSignificantBits());
+        }
+        if (result == 0) {
+            result = Long.compareUnsigned(id.getLeastSignificantBits(), otherId.getLeastSignificantBits());
+        }
+        return result;
+    }
+    
+    // Drop tombstones past retention; clients that far behind are told to resync from scratch
+    @Scheduled(cron = "${food-log.sync.tombstone-prune-cron:0 45 3 * * *}")
+    @Transactional
+    public void pruneTombstones() {
+        int pruned = foodLogTombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (pruned > 0) {
+            System.out.println("Pruned " + pruned + " food log tombstones");
+        }
+    }
+    
+    // Autocomplete for foodItem, location or company from the student's own history
+    public List<String> suggest(UUID studentId, String field, String prefix, int limit) {
+        FoodLogSuggestionIndex.Field parsed = FoodLogSuggestionIndex.Field.parse(field);
+        return foodLogSuggestionIndex.suggest(studentId, parsed, prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+    
+    // Get food logs for today
+    public List<FoodLogResponse> getTodayFoodLogs(UUID studentId) {
+        return foodLogRepository.findResponsesByStudentIdAndDate(studentId, LocalDate.now());
     }
     
     // Get food logs for a specific date
     public List<FoodLogResponse> getFoodLogsByDate(UUID studentId, LocalDate date) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        
-        List<FoodLog> foodLogs = foodLogRepository.findByStudentAndDate(student, date);
-        return foodLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return foodLogRepository.findResponsesByStudentIdAndDate(studentId, date);
     }
     
     // Get food logs by meal type
     public List<FoodLogResponse> getFoodLogsByMealType(UUID studentId, String mealType) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        
-        List<FoodLog> foodLogs = foodLogRepository.findByStudentAndMealTypeOrderByEatingTimeDesc(student, mealType);
-        return foodLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return foodLogRepository.findResponsesByStudentIdAndMealType(studentId, Vocabulary.normalize(mealType));
     }
     
     // Get food logs by emotion
     public List<FoodLogResponse> getFoodLogsByEmotion(UUID studentId, String emotion) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        
-        List<FoodLog> foodLogs = foodLogRepository.findByStudentAndEmotionDescriptionOrderByEatingTimeDesc(student, emotion);
-        return foodLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return foodLogRepository.findResponsesByStudentIdAndEmotion(studentId, Vocabulary.normalize(emotion));
     }
     
     // Get recent food logs (last 7 days)
     public List<FoodLogResponse> getRecentFoodLogs(UUID studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        
-        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        List<FoodLog> foodLogs = foodLogRepository.findRecentFoodLogs(student, weekAgo);
-        return foodLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return foodLogRepository.findRecentResponses(studentId, LocalDateTime.now().minusDays(7));
     }
     
     // Get food log statistics
     public Map<String, Object> getFoodLogStats(UUID studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        
         Map<String, Object> stats = new HashMap<>();
         
-        // Total food logs
-        long totalLogs = foodLogRepository.countByStudent(student);
-        stats.put("totalLogs", totalLogs);
+        // Counts and averages come from the incrementally maintained aggregate
+        FoodLogFeatures features = foodLogAggregateService.getFeatures(studentRepository.getReferenceById(studentId));
+        stats.put("totalLogs", features.getTotalLogs());
         
         // Today's logs
-        long todayLogs = foodLogRepository.countByStudentAndDate(student, LocalDate.now());
+        LocalDate today = LocalDate.now();
+        long todayLogs = eatingEventCache.events(studentId)
+                .countBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
         stats.put("todayLogs", todayLogs);
         
         // Most common emotions
-        List<Object[]> commonEmotions = foodLogRepository.findMostCommonEmotions(student);
-        Map<String, Long> emotionStats = new HashMap<>();
-        for (Object[] result : commonEmotions) {
-            String emotion = (String) result[0];
-            Long count = (Long) result[1];
-            if (emotion != null) {
-                emotionStats.put(emotion, count);
-            }
-        }
-        stats.put("commonEmotions", emotionStats);
+        stats.put("commonEmotions", new HashMap<>(features.getEmotionCounts()));
         
         // Most common meal types
-        List<Object[]> commonMealTypes = foodLogRepository.findMostCommonMealTypes(student);
-        Map<String, Long> mealTypeStats = new HashMap<>();
-        for (Object[] result : commonMealTypes) {
-            String mealType = (String) result[0];
-            Long count = (Long) result[1];
-            if (mealType != null) {
-                mealTypeStats.put(mealType, count);
-            }
-        }
-        stats.put("commonMealTypes", mealTypeStats);
+        stats.put("commonMealTypes", new HashMap<>(features.getMealTypeCounts()));
         
         // Average levels
-        Object[] averageLevels = foodLogRepository.findAverageLevels(student);
-        if (averageLevels != null && averageLevels.length >= 2) {
-            Double avgHunger = (Double) averageLevels[0];
-            Double avgSatisfaction = (Double) averageLevels[1];
-            stats.put("averageHungerLevel", avgHunger != null ? Math.round(avgHunger * 10.0) / 10.0 : 0);
-            stats.put("averageSatisfactionLevel", avgSatisfaction != null ? Math.round(avgSatisfaction * 10.0) / 10.0 : 0);
-        } else {
-            stats.put("averageHungerLevel", 0);
-            stats.put("averageSatisfactionLevel", 0);
-        }
+        stats.put("averageHungerLevel", Math.round(features.averageHunger(0) * 10.0) / 10.0);
+        stats.put("averageSatisfactionLevel", Math.round(features.averageSatisfaction(0) * 10.0) / 10.0);
         
         // High satisfaction foods
-        List<FoodLog> highSatisfactionLogs = foodLogRepository.findHighSatisfactionLogs(student);
-        List<FoodLogResponse> highSatisfactionResponses = highSatisfactionLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        stats.put("highSatisfactionFoods", highSatisfactionResponses);
+        stats.put("highSatisfactionFoods", foodLogRepository.findHighSatisfactionResponses(studentId));
         
         // Low satisfaction foods
-        List<FoodLog> lowSatisfactionLogs = foodLogRepository.findLowSatisfactionLogs(student);
-        List<FoodLogResponse> lowSatisfactionResponses = lowSatisfactionLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        stats.put("lowSatisfactionFoods", lowSatisfactionResponses);
+        stats.put("lowSatisfactionFoods", foodLogRepository.findLowSatisfactionResponses(studentId));
         
         // Emotional eating patterns
-        List<FoodLog> emotionalEatingLogs = foodLogRepository.findEmotionalEatingPatterns(student);
-        List<FoodLogResponse> emotionalEatingResponses = emotionalEatingLogs.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        stats.put("emotionalEatingPatterns", emotionalEatingResponses);
+        stats.put("emotionalEatingPatterns", foodLogRepository.findEmotionalEatingResponses(studentId));
         
         return stats;
     }
     
     // Update a food log
+    @Transactional
     public FoodLogResponse updateFoodLog(UUID studentId, UUID foodLogId, FoodLogRequest request) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
@@ -202,12 +314,17 @@ public class FoodLogService {
             throw new RuntimeException("Unauthorized access to food log");
         }
         
+        FoodLogFeatures before = FoodLogFeatures.of(foodLog);
+        LocalDate beforeDay = foodLog.getEatingTime().toLocalDate();
+        foodLogSuggestionIndex.remove(studentId, foodLog);
         foodLog.setFoodItem(request.getFoodItem());
         foodLog.setQuantity(request.getQuantity());
-        foodLog.setMealType(request.getMealType());
+        foodLog.setMealType(Vocabulary.normalize(request.getMealType()));
+        foodLog.setMealTypeCode(vocabulary.encode(Vocabulary.Kind.MEAL_TYPE, foodLog.getMealType()));
         foodLog.setEatingTime(request.getEatingTime());
         foodLog.setEmotionEmoji(request.getEmotionEmoji());
-        foodLog.setEmotionDescription(request.getEmotionDescription());
+        foodLog.setEmotionDescription(Vocabulary.normalize(request.getEmotionDescription()));
+        foodLog.setEmotionCode(vocabulary.encode(Vocabulary.Kind.EMOTION, foodLog.getEmotionDescription()));
         foodLog.setHungerLevel(request.getHungerLevel());
         foodLog.setSatisfactionLevel(request.getSatisfactionLevel());
         foodLog.setLocation(request.getLocation());
@@ -215,10 +332,17 @@ public class FoodLogService {
         foodLog.setNotes(request.getNotes());
         
         FoodLog updatedFoodLog = foodLogRepository.save(foodLog);
+        FoodLogFeatures after = FoodLogFeatures.of(updatedFoodLog);
+        foodLogAggregateService.apply(student, before, after);
+        foodLogDailyBucketService.apply(student, beforeDay, before, updatedFoodLog.getEatingTime().toLocalDate(), after);
+        foodLogSuggestionIndex.add(studentId, updatedFoodLog);
+        eatingEventCache.invalidateAfterCommit(studentId);
+        studentDataVersion.bump(studentId);
         return convertToResponse(updatedFoodLog);
     }
     
     // Delete a food log
+    @Transactional
     public void deleteFoodLog(UUID studentId, UUID foodLogId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
@@ -232,6 +356,61 @@ public class FoodLogService {
         }
         
         foodLogRepository.delete(foodLog);
+        
+        // Tell syncing clients the food log is gone
+        FoodLogTombstone tombstone = new FoodLogTombstone();
+        tombstone.setFoodLogId(foodLog.getId());
+        tombstone.setStudentId(studentId);
+        tombstone.setDeletedAt(LocalDateTime.now());
+        foodLogTombstoneRepository.save(tombstone);
+        
+        FoodLogFeatures removed = FoodLogFeatures.of(foodLog);
+        foodLogAggregateService.apply(student, removed, null);
+        foodLogDailyBucketService.apply(student, foodLog.getEatingTime().toLocalDate(), removed, null, null);
+        foodLogSuggestionIndex.remove(studentId, foodLog);
+        eatingEventCache.invalidateAfterCommit(studentId);
+        studentDataVersion.bump(studentId);
+    }
+    
+    // Comma-separated field list for sparse responses; null means all fields
+    private List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!RESPONSE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        // The id is always included so clients can address the log
+        requested.add("id");
+        return RESPONSE_FIELDS.stream().filter(requested::contains).collect(Collectors.toList());
+    }
+    
+    private Map<String, Object> selectFields(FoodLog foodLog, List<String> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            selected.put(field, switch (field) {
+                case "id" -> foodLog.getId();
+                case "foodItem" -> foodLog.getFoodItem();
+                case "quantity" -> foodLog.getQuantity();
+                case "mealType" -> foodLog.getMealType();
+                case "eatingTime" -> foodLog.getEatingTime();
+                case "emotionEmoji" -> foodLog.getEmotionEmoji();
+                case "emotionDescription" -> foodLog.getEmotionDescription();
+                case "hungerLevel" -> foodLog.getHungerLevel();
+                case "satisfactionLevel" -> foodLog.getSatisfactionLevel();
+                case "location" -> foodLog.getLocation();
+                case "company" -> foodLog.getCompany();
+                case "notes" -> foodLog.getNotes();
+                case "createdAt" -> foodLog.getCreatedAt();
+                default -> throw new IllegalArgumentException("Unknown field: " + field);
+            });
+        }
+        return selected;
     }
     
     // Convert FoodLog entity to FoodLogResponse DTO
@@ -0,0 +1,270 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student autocomplete for the free-text food log fields. Each student's
+ * values are counted in memory and kept as a sorted key array, so a prefix
+ * lookup is a binary search plus a short scan, ranked by how often the value
+ * was logged. Indexes are loaded lazily from the database on a miss, kept
+ * current by {@link #add} and {@link #remove} once the write commits, and
+ * evicted once idle or when the total estimated size exceeds the memory budget.
+ */
+@Component
+public class FoodLogSuggestionIndex {
+
+    public enum Field {
+        FOOD_ITEM, LOCATION, COMPANY;
+
+        public static Field parse(String name) {
+            return switch (name) {
+                case "foodItem" -> FOOD_ITEM;
+                case "location" -> LOCATION;
+                case "company" -> COMPANY;
+                default -> throw new IllegalArgumentException("Unknown field: " + name);
+            };
+        }
+    }
+
+    private static final long VALUE_OVERHEAD_BYTES = 120;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Value("${food-log.suggest.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    @Value("${food-log.suggest.max-bytes:33554432}")
+    private long maxBytes;
+
+    private final Map<UUID, Index> indexes = new ConcurrentHashMap<>();
+    // Loads in flight, by student; a committed write cancels the student's load
+    private final Map<UUID, Object> loads = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    private static class Term {
+        String display;
+        long count;
+    }
+
+    private static class Vocabulary {
+        // Keyed by the normalized value
+        final Map<String, Term> terms = new HashMap<>();
+        // Sorted normalized keys; rebuilt on the next lookup after a key appears or disappears
+        String[] sorted = new String[0];
+        boolean dirty;
+    }
+
+    private static class Index {
+        final Map<Field, Vocabulary> fields = new EnumMap<>(Field.class);
+        long bytes;
+        volatile long lastAccess = System.currentTimeMillis();
+        // When the load query returned (System.nanoTime)
+        long loadedAt;
+
+        Index() {
+            for (Field field : Field.values()) {
+                fields.put(field, new Vocabulary());
+            }
+        }
+    }
+
+    /**
+     * Most frequently logged values for the field that start with the prefix
+     * (case-insensitive), most frequent first
+     */
+    public List<String> suggest(UUID studentId, Field field, String prefix, int limit) {
+        Index index = indexOf(studentId);
+        index.lastAccess = System.currentTimeMillis();
+        String key = prefix == null ? "" : normalize(prefix);
+        List<String> suggestions = new ArrayList<>();
+        synchronized (index) {
+            Vocabulary vocabulary = index.fields.get(field);
+            if (vocabulary.dirty) {
+                vocabulary.sorted = vocabulary.terms.keySet().toArray(new String[0]);
+                Arrays.sort(vocabulary.sorted);
+                vocabulary.dirty = false;
+            }
+            List<Term> matches = new ArrayList<>();
+            int from = Arrays.binarySearch(vocabulary.sorted, key);
+            for (int i = from >= 0 ? from : -from - 1; i < vocabulary.sorted.length && vocabulary.sorted[i].startsWith(key); i++) {
+                matches.add(vocabulary.terms.get(vocabulary.sorted[i]));
+            }
+            matches.sort(Comparator.<Term>comparingLong(term -> term.count).reversed()
+                    .thenComparing(term -> term.display));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                suggestions.add(matches.get(i).display);
+            }
+        }
+        evictIfNeeded();
+        return suggestions;
+    }
+
+    private Index indexOf(UUID studentId) {
+        Index index = indexes.get(studentId);
+        if (index != null) {
+            return index;
+        }
+        // Query outside any map lock; only cached if no write commits meanwhile
+        Object ticket = new Object();
+        loads.put(studentId, ticket);
+        Index loaded = load(studentId);
+        Index installed = indexes.compute(studentId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return loads.remove(id, ticket) ? loaded : null;
+        });
+        if (installed != loaded) {
+            // Loading already counted its bytes toward the budget
+            totalBytes.addAndGet(-loaded.bytes);
+        }
+        return installed != null ? installed : loaded;
+    }
+
+    /**
+     * Count a food log's values once the current transaction commits. Students
+     * without an index are left alone and will pick the values up on their next
+     * lazy load.
+     */
+    public void add(UUID studentId, FoodLog foodLog) {
+        record(studentId, foodLog, 1);
+    }
+
+    public void remove(UUID studentId, FoodLog foodLog) {
+        record(studentId, foodLog, -1);
+    }
+
+    public void invalidate(UUID studentId) {
+        loads.remove(studentId);
+        Index removed = indexes.remove(studentId);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.bytes);
+        }
+    }
+
+    private void record(UUID studentId, FoodLog foodLog, int delta) {
+        // Read the values now; the entity may change before the commit
+        String foodItem = foodLog.getFoodItem();
+        String location = foodLog.getLocation();
+        String company = foodLog.getCompany();
+        long savedAt = System.nanoTime();
+        AfterCommit.run(() -> {
+            loads.remove(studentId);
+            indexes.computeIfPresent(studentId, (id, index) -> {
+                if (index.loadedAt >= savedAt) {
+                    // Loaded after the write; the query may already have counted it
+                    totalBytes.addAndGet(-index.bytes);
+                    return null;
+                }
+                synchronized (index) {
+                    count(index, Field.FOOD_ITEM, foodItem, delta);
+                    count(index, Field.LOCATION, location, delta);
+                    count(index, Field.COMPANY, company, delta);
+                }
+                return index;
+            });
+        });
+    }
+
+    private Index load(UUID studentId) {
+        Index index = new Index();
+        // One row per distinct (foodItem, location, company) combination with its count
+        for (Object[] row : foodLogRepository.countSuggestionValues(studentId)) {
+            long count = ((Number) row[3]).longValue();
+            count(index, Field.FOOD_ITEM, (String) row[0], count);
+            count(index, Field.LOCATION, (String) row[1], count);
+            count(index, Field.COMPANY, (String) row[2], count);
+        }
+        index.loadedAt = System.nanoTime();
+        return index;
+    }
+
+    private void count(Index index, Field field, String raw, long delta) {
+        if (raw == null || raw.isBlank()) {
+            return;
+        }
+        String display = raw.trim();
+        String key = normalize(display);
+        Vocabulary vocabulary = index.fields.get(field);
+        Term term = vocabulary.terms.get(key);
+        if (term == null) {
+            if (delta <= 0) {
+                return;
+            }
+            term = new Term();
+            term.display = display;
+            vocabulary.terms.put(key, term);
+            vocabulary.dirty = true;
+            adjust(index, estimate(key));
+        }
+        term.count += delta;
+        if (term.count <= 0) {
+            vocabulary.terms.remove(key);
+            vocabulary.dirty = true;
+            adjust(index, -estimate(key));
+        } else if (delta > 0) {
+            // Show the spelling the student used most recently
+            term.display = display;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void adjust(Index index, long delta) {
+        index.bytes += delta;
+        totalBytes.addAndGet(delta);
+    }
+
+    private long estimate(String key) {
+        // Key plus display string, both roughly the same length
+        return VALUE_OVERHEAD_BYTES + key.length() * 4L;
+    }
+
+    private void evictIfNeeded() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        boolean sweepDue = now - last >= Math.min(idleTtlMs, 60_000) && lastSweep.compareAndSet(last, now);
+
+        if (sweepDue) {
+            indexes.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().lastAccess > idleTtlMs) {
+                    totalBytes.addAndGet(-entry.getValue().bytes);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        if (totalBytes.get() > maxBytes) {
+            // Over budget: drop least recently used students until back under it
+            List<Map.Entry<UUID, Index>> byAge = new ArrayList<>(indexes.entrySet());
+            byAge.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            for (Map.Entry<UUID, Index> entry : byAge) {
+                if (totalBytes.get() <= maxBytes) {
+                    break;
+                }
+                invalidate(entry.getKey());
+            }
+        }
+    }
+}
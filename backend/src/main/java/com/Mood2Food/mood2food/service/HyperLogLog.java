@@ -0,0 +1,78 @@
+package com.Mood2Food.mood2food.service;
+
+import java.util.UUID;
+
+/**
+ * HyperLogLog distinct counter over UUIDs with 2^12 one-byte registers (4 KB,
+ * about 1.6% standard error). Merging takes the register-wise maximum, so
+ * sketches built on different instances combine into the sketch of the union.
+ * Not thread-safe.
+ */
+public class HyperLogLog {
+
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    public HyperLogLog(byte[] registers) {
+        if (registers.length != REGISTERS) {
+            throw new IllegalArgumentException("Expected " + REGISTERS + " registers, got " + registers.length);
+        }
+        this.registers = registers;
+    }
+
+    public void add(UUID value) {
+        long hash = mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // Position of the first set bit in the remaining bits, capped when they are all zero
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), Long.SIZE - PRECISION) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Small cardinalities: linear counting is more accurate
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] getRegisters() {
+        return registers.clone();
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
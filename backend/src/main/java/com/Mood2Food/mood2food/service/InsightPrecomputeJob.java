@@ -0,0 +1,219 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.Insight;
+import com.Mood2Food.mood2food.entity.InsightJobCheckpoint;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.InsightJobCheckpointRepository;
+import com.Mood2Food.mood2food.repository.InsightRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nightly precomputation of each active student's emotional eating analysis,
+ * saved as an Insight row so /api/insights/latest is a plain lookup. Active
+ * students (a food log written in the last few days) are walked in id order in
+ * chunks; each chunk is analyzed on virtual threads behind a concurrency cap so
+ * the job can't take over the connection pool, and a checkpoint is saved after
+ * every chunk so an interrupted run resumes where it stopped.
+ */
+@Service
+public class InsightPrecomputeJob {
+
+    static final String JOB_NAME = "insight-precompute";
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private InsightRepository insightRepository;
+
+    @Autowired
+    private InsightJobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private FoodInsightService foodInsightService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insights.precompute.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${insights.precompute.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${insights.precompute.active-days:30}")
+    private int activeDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Students per second over the last finished run
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    private Counter studentsProcessed;
+    private Counter studentsFailed;
+
+    @PostConstruct
+    public void init() {
+        studentsProcessed = meterRegistry.counter("insights.precompute.students");
+        studentsFailed = meterRegistry.counter("insights.precompute.failures");
+        meterRegistry.gauge("insights.precompute.throughput", lastThroughput, AtomicLong::get);
+    }
+
+    @Scheduled(cron = "${insights.precompute.cron:0 0 4 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            System.out.println("Insight precompute already running; skipped");
+            return;
+        }
+        try {
+            precomputeAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Analyze every active student not yet covered by today's run
+     */
+    void precomputeAll() {
+        LocalDate today = LocalDate.now();
+        InsightJobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (checkpoint != null && today.equals(checkpoint.getRunDate()) && checkpoint.getCompletedAt() != null) {
+            return;
+        }
+        if (checkpoint == null || !today.equals(checkpoint.getRunDate())) {
+            // New run; an unfinished run from an earlier day is abandoned
+            checkpoint = new InsightJobCheckpoint();
+            checkpoint.setJobName(JOB_NAME);
+            checkpoint.setRunDate(today);
+        } else {
+            System.out.println("Resuming insight precompute after student " + checkpoint.getLastStudentId());
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusDays(activeDays);
+        // The smallest id, so the first chunk starts at the beginning
+        UUID cursor = checkpoint.getLastStudentId() != null ? checkpoint.getLastStudentId() : new UUID(0, 0);
+        long started = System.nanoTime();
+        long processedThisRun = 0;
+        Semaphore permits = new Semaphore(maxConcurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<UUID> chunk;
+            do {
+                chunk = foodLogRepository.findActiveStudentIds(since, cursor, PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                List<Future<?>> tasks = new ArrayList<>();
+                for (Student student : studentRepository.findAllById(chunk)) {
+                    tasks.add(executor.submit(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            precompute(student);
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }));
+                }
+                long failed = 0;
+                for (Future<?> task : tasks) {
+                    try {
+                        task.get();
+                    } catch (ExecutionException e) {
+                        failed++;
+                        System.err.println("Insight precompute failed for a student: " + e.getCause().getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                studentsProcessed.increment(tasks.size() - failed);
+                studentsFailed.increment(failed);
+                processedThisRun += tasks.size();
+
+                // Whole chunk done: later chunks start after its last student
+                cursor = chunk.get(chunk.size() - 1);
+                checkpoint.setLastStudentId(cursor);
+                checkpoint.setProcessed(checkpoint.getProcessed() + tasks.size() - failed);
+                checkpoint.setFailed(checkpoint.getFailed() + failed);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpoint = checkpointRepository.save(checkpoint);
+            } while (chunk.size() == chunkSize);
+        }
+
+        checkpoint.setCompletedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+        checkpointRepository.save(checkpoint);
+
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+        lastThroughput.set(Math.round(processedThisRun / seconds));
+        System.out.println("Precomputed insights for " + processedThisRun + " students ("
+            + lastThroughput.get() + "/s, " + checkpoint.getFailed() + " failed today)");
+    }
+
+    private void precompute(Student student) {
+        String message = summarize(foodInsightService.analyzeEmotionalEatingPatterns(student));
+        if (message == null) {
+            return;
+        }
+        // Unchanged since the last run: keep the existing row instead of repeating it
+        Insight latest = insightRepository.findFirstByStudentOrderByCreatedAtDesc(student);
+        if (latest != null && Objects.equals(latest.getMessage(), message)) {
+            return;
+        }
+        Insight insight = new Insight();
+        insight.setStudent(student);
+        insight.setMessage(message);
+        insightRepository.save(insight);
+    }
+
+    // One-line summary of an analysis, or null when there is nothing to say yet
+    @SuppressWarnings("unchecked")
+    static String summarize(Map<String, Object> analysis) {
+        Map<String, Object> emotional = (Map<String, Object>) analysis.get("emotionalPatterns");
+        if (emotional == null) {
+            return null;
+        }
+        StringBuilder message = new StringBuilder()
+            .append("You most often log meals feeling ").append(emotional.get("mostCommonEmotion"))
+            .append("; ").append(emotional.get("emotionalEatingCount"))
+            .append(" of ").append(emotional.get("totalLogs"))
+            .append(" meals looked like emotional eating.");
+        List<String> recommendations = (List<String>) analysis.get("recommendations");
+        if (recommendations != null && !recommendations.isEmpty()) {
+            message.append(' ').append(recommendations.get(0));
+        }
+        return message.length() > MAX_MESSAGE_LENGTH
+            ? message.substring(0, MAX_MESSAGE_LENGTH - 3) + "..."
+            : message.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.Mood2Food.mood2food.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Computed insight results per (kind, student), each tagged with the
+ * StudentDataVersion it was computed at. A result is served only while that
+ * version is still current, so writes invalidate it without any explicit
+ * eviction. Bounded to the most recently used entries.
+ */
+@Component
+public class InsightResultCache {
+
+    @Autowired
+    private StudentDataVersion studentDataVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${insights.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private record Key(String kind, UUID studentId) {}
+
+    private record Entry(long version, Map<String, Object> result) {}
+
+    private Map<Key, Entry> entries;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        // Access order, so the eldest entry is the least recently used
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        hits = meterRegistry.counter("insights.cache.hits");
+        misses = meterRegistry.counter("insights.cache.misses");
+        meterRegistry.gauge("insights.cache.size", this, cache -> cache.size());
+    }
+
+    public Map<String, Object> get(String kind, UUID studentId, Supplier<Map<String, Object>> compute) {
+        Key key = new Key(kind, studentId);
+        // Read the version first: a write landing during the computation moves the
+        // version on and the stored result is never served
+        long version = studentDataVersion.current(studentId);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return entry.result();
+            }
+        }
+        misses.increment();
+        Map<String, Object> result = compute.get();
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing == null || existing.version() < version) {
+                entries.put(key, new Entry(version, result));
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
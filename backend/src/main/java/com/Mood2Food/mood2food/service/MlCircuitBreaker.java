@@ -0,0 +1,176 @@
+package com.Mood2Food.mood2food.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker for the classify-emotion call. Outcomes of the last N calls are
+ * kept in a rolling window; once the failure or slow-call rate crosses its threshold
+ * the circuit opens and callers go straight to their fallback. After a cool-down a
+ * few probe calls are let through (half-open) to decide whether to close again.
+ */
+@Component
+public class MlCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @Value("${ml.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${ml.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${ml.circuit.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${ml.circuit.slow-call-ms:8000}")
+    private long slowCallMs;
+
+    @Value("${ml.circuit.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold;
+
+    @Value("${ml.circuit.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${ml.circuit.half-open-probes:3}")
+    private int halfOpenProbes;
+
+    // Rolling window of recent outcomes
+    private boolean[] failed;
+    private boolean[] slow;
+    private long[] latencies;
+    private int next;
+    private int recorded;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+    // Bumped on every state change, so permissions know which period they belong to
+    private long generation;
+
+    @PostConstruct
+    public void init() {
+        failed = new boolean[windowSize];
+        slow = new boolean[windowSize];
+        latencies = new long[windowSize];
+    }
+
+    /**
+     * Permission for one ML call, tied to the state period it was granted in.
+     * Outcomes reported against an earlier period are ignored.
+     */
+    public record Permission(long generation, boolean probe) {}
+
+    /**
+     * Returns a permission if the caller may attempt the ML call, or null to go
+     * straight to the fallback. Every permission must be followed by exactly one
+     * {@link #onSuccess}, {@link #onFailure} or {@link #release}.
+     */
+    public synchronized Permission tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return null;
+            }
+            probesInFlight++;
+            return new Permission(generation, true);
+        }
+        return new Permission(generation, false);
+    }
+
+    public synchronized void onSuccess(Permission permission, long durationMs) {
+        record(permission, false, durationMs);
+    }
+
+    public synchronized void onFailure(Permission permission, long durationMs) {
+        record(permission, true, durationMs);
+    }
+
+    /**
+     * Hand back a permission whose call never reached the ML service, recording no outcome
+     */
+    public synchronized void release(Permission permission) {
+        if (permission.generation() == generation && permission.probe()) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getAverageLatencyMs() {
+        if (recorded == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < recorded; i++) {
+            total += latencies[i];
+        }
+        return (double) total / recorded;
+    }
+
+    private void record(Permission permission, boolean failure, long durationMs) {
+        if (permission.generation() != generation) {
+            // Late result from a call granted before the last state change
+            return;
+        }
+        boolean slowCall = durationMs >= slowCallMs;
+
+        if (permission.probe()) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (failure || slowCall) {
+                transitionTo(State.OPEN);
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        failed[next] = failure;
+        slow[next] = slowCall;
+        latencies[next] = durationMs;
+        next = (next + 1) % windowSize;
+        recorded = Math.min(recorded + 1, windowSize);
+
+        if (recorded < minimumCalls) {
+            return;
+        }
+        int failures = 0;
+        int slowCalls = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (failed[i]) failures++;
+            if (slow[i]) slowCalls++;
+        }
+        if (failures * 100 >= failureRateThreshold * recorded
+                || slowCalls * 100 >= slowCallRateThreshold * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        if (state == newState) {
+            return;
+        }
+        System.out.println("ML circuit breaker: " + state + " -> " + newState
+            + " (avg latency " + Math.round(getAverageLatencyMs()) + "ms over " + recorded + " calls)");
+        state = newState;
+        generation++;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        } else if (newState == State.CLOSED) {
+            // Start the new closed period with a clean window
+            next = 0;
+            recorded = 0;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.Mood2Food.mood2food.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional micro-batching for classify-emotion. Concurrent requests are queued and
+ * a dispatcher sends them to the ML service as one batch once either the batch is
+ * full or the first request has waited for the linger period. Results are fanned
+ * back out to the waiting callers in order.
+ */
+@Component
+public class MlClassifyBatcher {
+
+    @Autowired
+    private MlGatewayClient mlGatewayClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ml.batching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ml.batching.max-batch-size:16}")
+    private int maxBatchSize;
+
+    @Value("${ml.batching.max-linger-ms:10}")
+    private long maxLingerMs;
+
+    @Value("${ml.gateway.timeout.classify-ms:15000}")
+    private long classifyTimeoutMs;
+
+    private record Pending(Map<String, Object> payload, CompletableFuture<Map<String, Object>> result) {}
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running = true;
+
+    private DistributionSummary batchFill;
+    private Counter batchesSent;
+    private Counter batchFailures;
+
+    @PostConstruct
+    public void init() {
+        batchFill = DistributionSummary.builder("ml.classify.batch.size")
+            .description("Requests per classify-emotion batch")
+            .register(meterRegistry);
+        batchesSent = meterRegistry.counter("ml.classify.batch.sent");
+        batchFailures = meterRegistry.counter("ml.classify.batch.failures");
+        if (enabled) {
+            executor.execute(this::dispatchLoop);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a classify payload and wait for its result from the next batch
+     */
+    public Map<String, Object> classify(Map<String, Object> payload) throws Exception {
+        Pending pending = new Pending(payload, new CompletableFuture<>());
+        queue.add(pending);
+        try {
+            return pending.result().get(maxLingerMs + classifyTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            pending.result().cancel(false);
+            throw new RestClientException("Timed out waiting for batched classification");
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Pending first = queue.take();
+                List<Pending> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+
+                // Linger until the batch is full or the first request has waited long enough
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                // Send off the dispatcher thread so the next batch can start filling
+                executor.execute(() -> send(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        // Callers that already gave up don't need a slot in the batch
+        List<Pending> live = batch.stream().filter(p -> !p.result().isDone()).toList();
+        if (live.isEmpty()) {
+            return;
+        }
+        batchesSent.increment();
+        batchFill.record(live.size());
+        try {
+            List<Map<String, Object>> results = mlGatewayClient.classifyEmotionBatch(
+                live.stream().map(Pending::payload).toList());
+            for (int i = 0; i < live.size(); i++) {
+                Map<String, Object> result = results.get(i);
+                if (result.containsKey("error")) {
+                    live.get(i).result().completeExceptionally(
+                        new RestClientException("ML batch item failed: " + result.get("error")));
+                } else {
+                    live.get(i).result().complete(result);
+                }
+            }
+        } catch (Exception e) {
+            batchFailures.increment();
+            live.forEach(p -> p.result().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdownNow();
+    }
+}
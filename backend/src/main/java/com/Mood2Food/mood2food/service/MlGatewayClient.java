@@ -0,0 +1,233 @@
+package com.Mood2Food.mood2food.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Single entry point for every call to the Python ML service. All endpoints share
+ * one bounded keep-alive connection pool; each endpoint gets its own read timeout
+ * so a slow classification cannot hold request threads indefinitely.
+ */
+@Component
+public class MlGatewayClient {
+
+    @Value("${ml.gateway.base-url:}")
+    private String baseUrl;
+
+    @Value("${ml.backend.url:http://localhost:10000/classify-emotion}")
+    private String classifyUrl;
+
+    @Value("${ml.gateway.pool.max-total:50}")
+    private int maxTotalConnections;
+
+    @Value("${ml.gateway.pool.max-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${ml.gateway.pool.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${ml.gateway.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${ml.gateway.pool.acquire-timeout-ms:500}")
+    private long acquireTimeoutMs;
+
+    @Value("${ml.gateway.timeout.classify-ms:15000}")
+    private long classifyTimeoutMs;
+
+    @Value("${ml.gateway.timeout.patterns-ms:3000}")
+    private long patternsTimeoutMs;
+
+    @Value("${ml.gateway.timeout.feedback-ms:3000}")
+    private long feedbackTimeoutMs;
+
+    @Value("${ml.gateway.timeout.learning-stats-ms:3000}")
+    private long learningStatsTimeoutMs;
+
+    @Value("${ml.gateway.timeout.fun-facts-ms:2000}")
+    private long funFactsTimeoutMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CloseableHttpClient httpClient;
+    private RestTemplate classifyTemplate;
+    private RestTemplate patternsTemplate;
+    private RestTemplate feedbackTemplate;
+    private RestTemplate learningStatsTemplate;
+    private RestTemplate funFactsTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Without an explicit base URL, derive it from the classify endpoint
+        if (baseUrl == null || baseUrl.isBlank()) {
+            baseUrl = classifyUrl.replace("/classify-emotion", "");
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxTotalConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setTimeToLive(TimeValue.ofMilliseconds(keepAliveMs * 10))
+                .build())
+            .build();
+
+        httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+            .build();
+
+        classifyTemplate = template(classifyTimeoutMs);
+        patternsTemplate = template(patternsTimeoutMs);
+        feedbackTemplate = template(feedbackTimeoutMs);
+        learningStatsTemplate = template(learningStatsTimeoutMs);
+        funFactsTemplate = template(funFactsTimeoutMs);
+    }
+
+    private RestTemplate template(long readTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectionRequestTimeout(Duration.ofMillis(acquireTimeoutMs));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(factory);
+    }
+
+    /**
+     * POST /classify-emotion and return the parsed JSON response
+     */
+    public Map<String, Object> classifyEmotion(Map<String, Object> payload) {
+        ResponseEntity<String> response = classifyTemplate.postForEntity(classifyUrl, jsonEntity(payload), String.class);
+        return parse(response);
+    }
+
+    /**
+     * POST /classify-emotion/batch with several classify payloads and return one
+     * result per payload, in the same order
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> classifyEmotionBatch(List<Map<String, Object>> payloads) {
+        ResponseEntity<String> response = classifyTemplate.postForEntity(
+            classifyUrl + "/batch", jsonEntity(Map.of("requests", payloads)), String.class);
+        Object results = parse(response).get("results");
+        if (!(results instanceof List<?> list) || list.size() != payloads.size()) {
+            throw new RestClientException("ML batch response does not match request size");
+        }
+        return (List<Map<String, Object>>) results;
+    }
+
+    /**
+     * POST /classify-emotion/stream and hand every Server-Sent Event payload to the
+     * consumer as it arrives. The read timeout applies between events, not to the
+     * whole stream.
+     */
+    public void streamClassifyEmotion(Map<String, Object> payload, Consumer<Map<String, Object>> onEvent) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new RestClientException("Unable to serialize ML request", e);
+        }
+        classifyTemplate.execute(classifyUrl + "/stream", HttpMethod.POST,
+            request -> {
+                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                request.getBody().write(body);
+            },
+            response -> {
+                BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("data:")) {
+                        onEvent.accept(objectMapper.readValue(line.substring(5).trim(), Map.class));
+                    }
+                }
+                return null;
+            });
+    }
+
+    /**
+     * GET /user-patterns/{userId} as raw JSON
+     */
+    public String getUserPatterns(UUID userId) {
+        return patternsTemplate.getForObject(baseUrl + "/user-patterns/" + userId, String.class);
+    }
+
+    /**
+     * POST /feedback as raw JSON
+     */
+    public String sendFeedback(Map<String, Object> feedback) {
+        return feedbackTemplate.postForObject(baseUrl + "/feedback", jsonEntity(feedback), String.class);
+    }
+
+    /**
+     * GET /learning-stats/{userId} as raw JSON
+     */
+    public String getLearningStats(UUID userId) {
+        return learningStatsTemplate.getForObject(baseUrl + "/learning-stats/" + userId, String.class);
+    }
+
+    /**
+     * GET /fun-facts/daily and return the parsed JSON response
+     */
+    public Map<String, Object> getDailyFunFact() {
+        ResponseEntity<String> response = funFactsTemplate.getForEntity(baseUrl + "/fun-facts/daily", String.class);
+        return parse(response);
+    }
+
+    private HttpEntity<String> jsonEntity(Map<String, Object> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            return new HttpEntity<>(objectMapper.writeValueAsString(body), headers);
+        } catch (IOException e) {
+            throw new RestClientException("Unable to serialize ML request", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(ResponseEntity<String> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new RestClientException("ML service returned " + response.getStatusCode());
+        }
+        try {
+            return objectMapper.readValue(response.getBody(), Map.class);
+        } catch (IOException e) {
+            throw new RestClientException("Unable to parse ML response", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        httpClient.close();
+    }
+}
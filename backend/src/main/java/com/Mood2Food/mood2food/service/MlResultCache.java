@@ -0,0 +1,114 @@
+package com.Mood2Food.mood2food.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-student TTL cache for read-only ML proxy calls (user patterns, learning
+ * stats). Concurrent identical requests are coalesced: the first caller makes the
+ * ML call and everyone else waits on the same result. Failed calls are never
+ * cached. Entries for a student are dropped whenever their chat data or
+ * feedback changes.
+ */
+@Component
+public class MlResultCache {
+
+    @Value("${ml.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${ml.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private static final class Entry {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        // Set once the call completes; in-flight entries never expire
+        volatile long expiresAt = Long.MAX_VALUE;
+    }
+
+    // Keyed by student, then endpoint, so invalidating a student is one removal
+    private final Map<UUID, Map<String, Entry>> entries = new ConcurrentHashMap<>();
+    // Approximate across concurrent invalidations; recounted on every sweep
+    private final AtomicInteger size = new AtomicInteger();
+
+    public String get(String endpoint, UUID studentId, Supplier<String> loader) {
+        Map<String, Entry> studentEntries = entries.computeIfAbsent(studentId, id -> new ConcurrentHashMap<>());
+        Entry entry = studentEntries.get(endpoint);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            if (studentEntries.remove(endpoint, entry)) {
+                size.decrementAndGet();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry();
+            Entry existing = studentEntries.putIfAbsent(endpoint, created);
+            if (existing == null) {
+                size.incrementAndGet();
+                return load(studentEntries, endpoint, created, loader);
+            }
+            entry = existing;
+        }
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(UUID studentId) {
+        Map<String, Entry> removed = entries.remove(studentId);
+        if (removed != null) {
+            size.addAndGet(-removed.size());
+        }
+    }
+
+    private String load(Map<String, Entry> studentEntries, String endpoint, Entry entry, Supplier<String> loader) {
+        try {
+            String value = loader.get();
+            entry.expiresAt = System.currentTimeMillis() + ttlMs;
+            entry.result.complete(value);
+            evictIfNeeded();
+            return value;
+        } catch (RuntimeException e) {
+            if (studentEntries.remove(endpoint, entry)) {
+                size.decrementAndGet();
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (size.get() <= maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        sweep(entry -> entry.expiresAt <= now);
+        if (size.get() > maxEntries) {
+            // Still over budget with only live entries: start again from empty
+            sweep(entry -> entry.result.isDone());
+        }
+    }
+
+    private void sweep(Predicate<Entry> drop) {
+        int remaining = 0;
+        for (Map.Entry<UUID, Map<String, Entry>> student : entries.entrySet()) {
+            Map<String, Entry> studentEntries = student.getValue();
+            studentEntries.values().removeIf(drop);
+            if (studentEntries.isEmpty()) {
+                entries.remove(student.getKey(), studentEntries);
+            }
+            remaining += studentEntries.size();
+        }
+        size.set(remaining);
+    }
+}
@@ -0,0 +1,116 @@
+package com.Mood2Food.mood2food.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving heavy-hitter sketch: at most {@code capacity} counters, whatever
+ * the number of distinct items offered. When full, a new item takes over the
+ * smallest counter and inherits its count as error, so an item's count is an
+ * overestimate by at most its error. Two sketches merge by adding counts, with
+ * an item missing from a full sketch assumed to have that sketch's minimum.
+ * Not thread-safe.
+ */
+public class SpaceSavingSketch {
+
+    public record Counter(String item, long count, long error) {}
+
+    private final int capacity;
+    private final Map<String, long[]> counters = new HashMap<>();
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static SpaceSavingSketch of(int capacity, List<Counter> counters) {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        for (Counter counter : counters) {
+            sketch.counters.put(counter.item(), new long[] {counter.count(), counter.error()});
+        }
+        sketch.trim();
+        return sketch;
+    }
+
+    public void offer(String item, long count) {
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0] += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new long[] {count, 0});
+            return;
+        }
+        // Full: the new item replaces the smallest counter
+        String smallest = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < min) {
+                min = entry.getValue()[0];
+                smallest = entry.getKey();
+            }
+        }
+        counters.remove(smallest);
+        counters.put(item, new long[] {min + count, min});
+    }
+
+    public void merge(SpaceSavingSketch other) {
+        long floor = minIfFull();
+        long otherFloor = other.minIfFull();
+        Set<String> items = new HashSet<>(counters.keySet());
+        items.addAll(other.counters.keySet());
+        Map<String, long[]> merged = new HashMap<>();
+        for (String item : items) {
+            long[] mine = counters.get(item);
+            long[] theirs = other.counters.get(item);
+            merged.put(item, new long[] {
+                (mine != null ? mine[0] : floor) + (theirs != null ? theirs[0] : otherFloor),
+                (mine != null ? mine[1] : floor) + (theirs != null ? theirs[1] : otherFloor)});
+        }
+        counters.clear();
+        counters.putAll(merged);
+        trim();
+    }
+
+    /**
+     * Up to {@code limit} counters, largest count first
+     */
+    public List<Counter> top(int limit) {
+        List<Counter> all = counters();
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    public List<Counter> counters() {
+        List<Counter> all = new ArrayList<>();
+        counters.forEach((item, counter) -> all.add(new Counter(item, counter[0], counter[1])));
+        all.sort(Comparator.comparingLong(Counter::count).reversed().thenComparing(Counter::item));
+        return all;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Upper bound on the count of any item not being tracked
+    private long minIfFull() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        return counters.values().stream().mapToLong(counter -> counter[0]).min().orElse(0);
+    }
+
+    // Keep only the largest counters
+    private void trim() {
+        if (counters.size() <= capacity) {
+            return;
+        }
+        List<Counter> keep = counters().subList(0, capacity);
+        counters.clear();
+        keep.forEach(counter -> counters.put(counter.item(), new long[] {counter.count(), counter.error()}));
+    }
+}
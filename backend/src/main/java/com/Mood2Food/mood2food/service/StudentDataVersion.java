@@ -0,0 +1,36 @@
+package com.Mood2Food.mood2food.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student counter of writes to the data insights are computed from (food
+ * logs, trigger logs, coping tool usage). Results cached against a version are
+ * valid for as long as the version is unchanged.
+ */
+@Component
+public class StudentDataVersion {
+
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(UUID studentId) {
+        AtomicLong version = versions.get(studentId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Record a write. Inside a transaction the bump waits for the commit, so a
+     * reader can't cache a result computed from the old data under the new version.
+     */
+    public void bump(UUID studentId) {
+        AfterCommit.run(() -> increment(studentId));
+    }
+
+    private void increment(UUID studentId) {
+        versions.computeIfAbsent(studentId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
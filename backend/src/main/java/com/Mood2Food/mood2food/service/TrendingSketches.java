@@ -0,0 +1,193 @@
+package com.Mood2Food.mood2food.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Campus-wide "what's trending" counters fed by new food logs. Each time bucket
+ * holds a Space-Saving sketch of food items, one of emotions, and a HyperLogLog
+ * of the students who logged. Two rings of buckets cover the last hour (5-minute
+ * buckets) and the last day (hourly buckets); a window is the merge of its ring,
+ * so memory and query cost are fixed however many logs arrive. A window's merged
+ * sketch can be exported and merged with other instances' exports.
+ */
+@Component
+public class TrendingSketches {
+
+    public enum Window {
+        HOUR(5 * 60_000L, 12), DAY(60 * 60_000L, 24);
+
+        final long bucketMs;
+        final int buckets;
+
+        Window(long bucketMs, int buckets) {
+            this.bucketMs = bucketMs;
+            this.buckets = buckets;
+        }
+
+        public static Window parse(String name) {
+            return switch (name) {
+                case "hour" -> HOUR;
+                case "day" -> DAY;
+                default -> throw new IllegalArgumentException("Unknown window: " + name);
+            };
+        }
+    }
+
+    /**
+     * A sketch in exchange form, for merging across instances
+     */
+    public record State(int capacity, List<SpaceSavingSketch.Counter> foods,
+                        List<SpaceSavingSketch.Counter> emotions, byte[] students) {}
+
+    static class Sketch {
+        final SpaceSavingSketch foods;
+        final SpaceSavingSketch emotions;
+        final HyperLogLog students;
+
+        Sketch(int capacity) {
+            this(new SpaceSavingSketch(capacity), new SpaceSavingSketch(capacity), new HyperLogLog());
+        }
+
+        Sketch(SpaceSavingSketch foods, SpaceSavingSketch emotions, HyperLogLog students) {
+            this.foods = foods;
+            this.emotions = emotions;
+            this.students = students;
+        }
+
+        // Bounded by our own capacity, whatever the exporting instance used
+        static Sketch of(int capacity, State state) {
+            return new Sketch(SpaceSavingSketch.of(capacity, state.foods()),
+                SpaceSavingSketch.of(capacity, state.emotions()),
+                new HyperLogLog(state.students().clone()));
+        }
+
+        void merge(Sketch other) {
+            foods.merge(other.foods);
+            emotions.merge(other.emotions);
+            students.merge(other.students);
+        }
+
+        State toState() {
+            return new State(foods.getCapacity(), foods.counters(), emotions.counters(), students.getRegisters());
+        }
+    }
+
+    private static class Ring {
+        final Window window;
+        final Sketch[] sketches;
+        final long[] starts;
+
+        Ring(Window window, int capacity) {
+            this.window = window;
+            this.sketches = new Sketch[window.buckets];
+            this.starts = new long[window.buckets];
+            for (int i = 0; i < window.buckets; i++) {
+                sketches[i] = new Sketch(capacity);
+                starts[i] = -1;
+            }
+        }
+    }
+
+    private final int capacity;
+    private final long minCount;
+    private final Map<Window, Ring> rings = new HashMap<>();
+
+    public TrendingSketches(@Value("${trending.capacity:100}") int capacity,
+                            @Value("${trending.min-count:3}") long minCount) {
+        this.capacity = capacity;
+        this.minCount = minCount;
+        for (Window window : Window.values()) {
+            rings.put(window, new Ring(window, capacity));
+        }
+    }
+
+    public void record(UUID studentId, String foodItem, String emotion) {
+        record(studentId, foodItem, emotion, System.currentTimeMillis());
+    }
+
+    synchronized void record(UUID studentId, String foodItem, String emotion, long now) {
+        String food = foodItem == null || foodItem.isBlank() ? null : foodItem.trim().toLowerCase(Locale.ROOT);
+        for (Ring ring : rings.values()) {
+            Sketch sketch = bucket(ring, now);
+            if (sketch == null) {
+                continue;
+            }
+            if (food != null) {
+                sketch.foods.offer(food, 1);
+            }
+            if (emotion != null) {
+                sketch.emotions.offer(emotion, 1);
+            }
+            sketch.students.add(studentId);
+        }
+    }
+
+    /**
+     * This instance's sketch of the window, merged from its live buckets
+     */
+    public State export(Window window) {
+        return merged(window, System.currentTimeMillis()).toState();
+    }
+
+    /**
+     * Top food items and emotions and distinct active students for the window,
+     * combined with any exports from other instances
+     */
+    public Map<String, Object> trending(Window window, int limit, List<State> peers) {
+        return summarize(window, limit, merged(window, System.currentTimeMillis()), peers);
+    }
+
+    Map<String, Object> summarize(Window window, int limit, Sketch local, List<State> peers) {
+        for (State peer : peers) {
+            local.merge(Sketch.of(capacity, peer));
+        }
+        Map<String, Object> trending = new HashMap<>();
+        trending.put("window", window.name().toLowerCase(Locale.ROOT));
+        trending.put("topFoods", top(local.foods, limit));
+        trending.put("topEmotions", top(local.emotions, limit));
+        trending.put("activeStudents", local.students.estimate());
+        return trending;
+    }
+
+    synchronized Sketch merged(Window window, long now) {
+        Ring ring = rings.get(window);
+        long oldest = Math.floorDiv(now, window.bucketMs) * window.bucketMs - (window.buckets - 1) * window.bucketMs;
+        Sketch merged = new Sketch(capacity);
+        for (int i = 0; i < ring.sketches.length; i++) {
+            if (ring.starts[i] >= oldest) {
+                merged.merge(ring.sketches[i]);
+            }
+        }
+        return merged;
+    }
+
+    // The ring slot for the bucket, cleared if it still holds an older one; null if
+    // the slot has already moved on to a newer bucket
+    private Sketch bucket(Ring ring, long now) {
+        long start = Math.floorDiv(now, ring.window.bucketMs) * ring.window.bucketMs;
+        int slot = (int) Math.floorMod(Math.floorDiv(now, ring.window.bucketMs), (long) ring.sketches.length);
+        if (ring.starts[slot] > start) {
+            return null;
+        }
+        if (ring.starts[slot] != start) {
+            ring.sketches[slot] = new Sketch(capacity);
+            ring.starts[slot] = start;
+        }
+        return ring.sketches[slot];
+    }
+
+    // Counters at or above the minimum count, so rarely logged items stay private
+    private List<Map<String, Object>> top(SpaceSavingSketch sketch, int limit) {
+        return sketch.top(limit).stream()
+            .filter(counter -> counter.count() >= minCount)
+            .map(counter -> Map.<String, Object>of("item", counter.item(), "count", counter.count()))
+            .toList();
+    }
+}
@@ -17,10 +17,15 @@ public class TriggerLogService {
 
     private final TriggerLogRepository triggerLogRepository;
     private final StudentRepository studentRepository;
+    private final Vocabulary vocabulary;
+    private final StudentDataVersion studentDataVersion;
 
-    public TriggerLogService(TriggerLogRepository triggerLogRepository, StudentRepository studentRepository) {
+    public TriggerLogService(TriggerLogRepository triggerLogRepository, StudentRepository studentRepository,
+                             Vocabulary vocabulary, StudentDataVersion studentDataVersion) {
         this.triggerLogRepository = triggerLogRepository;
         this.studentRepository = studentRepository;
+        this.vocabulary = vocabulary;
+        this.studentDataVersion = studentDataVersion;
     }
 
     public void saveTriggerLog(UUID studentId, TriggerLogRequest request) {
@@ -28,12 +33,14 @@ public class TriggerLogService {
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
         TriggerLog log = new TriggerLog();
-        log.setEmotion(request.emotion());
+        log.setEmotion(Vocabulary.normalize(request.emotion()));
+        log.setEmotionCode(vocabulary.encode(Vocabulary.Kind.EMOTION, log.getEmotion()));
         log.setSituation(request.situation());
         log.setIntensity(request.intensity());
         log.setStudent(student);
 
         triggerLogRepository.save(log);
+        studentDataVersion.bump(studentId);
     }
 
     public List<TriggerLogResponse> getLogsByStudent(UUID studentId) {
@@ -0,0 +1,174 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.VocabularyTerm;
+import com.Mood2Food.mood2food.repository.VocabularyTermRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dictionary encoding for emotions and meal types. Values are normalized at write
+ * time (trimmed, lower case) so case variants count as one, and each distinct
+ * value gets a small integer code that rows store alongside the text. The
+ * dictionary is cached in both directions and only grows; a new value is inserted
+ * in its own transaction so a code is never cached for a row that rolled back.
+ */
+@Component
+public class Vocabulary {
+
+    public enum Kind {
+        EMOTION("emotion"), MEAL_TYPE("meal_type");
+
+        private final String key;
+
+        Kind(String key) {
+            this.key = key;
+        }
+    }
+
+    @Autowired
+    private VocabularyTermRepository vocabularyTermRepository;
+
+    // Free-text input could otherwise grow the dictionary without bound; values past
+    // the cap are still stored as text, just without a code
+    @Value("${vocabulary.max-terms-per-kind:1000}")
+    private int maxTermsPerKind;
+
+    private final TransactionTemplate newTransaction;
+
+    private final Map<Kind, Terms> cache = new ConcurrentHashMap<>();
+
+    private static class Terms {
+        // Includes collation aliases, so only terms counts towards the cap
+        final Map<String, Short> codes = new ConcurrentHashMap<>();
+        final Map<Short, String> terms = new ConcurrentHashMap<>();
+        // New values being inserted; concurrent encoders of the same value share one insert
+        final Map<String, CompletableFuture<Short>> inserts = new ConcurrentHashMap<>();
+        // Inserts in flight, held against the cap until they land in terms
+        final AtomicInteger reserved = new AtomicInteger();
+
+        void put(VocabularyTerm term) {
+            codes.put(term.getTerm(), term.getId());
+            terms.put(term.getId(), term.getTerm());
+        }
+    }
+
+    public Vocabulary(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Canonical form of a vocabulary value, or null for a missing or blank one
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Code for an already normalized value, adding it to the dictionary if new.
+     * Null for a null value or once the dictionary is full.
+     */
+    public Short encode(Kind kind, String value) {
+        if (value == null) {
+            return null;
+        }
+        Terms terms = terms(kind);
+        Short code = terms.codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        CompletableFuture<Short> insert = new CompletableFuture<>();
+        CompletableFuture<Short> pending = terms.inserts.putIfAbsent(value, insert);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        // No lock is held across the insert, so other values and other kinds never wait on it
+        try {
+            code = terms.codes.get(value);
+            if (code == null) {
+                code = insert(kind, terms, value);
+            }
+            insert.complete(code);
+            return code;
+        } catch (RuntimeException e) {
+            insert.completeExceptionally(e);
+            throw e;
+        } finally {
+            terms.inserts.remove(value, insert);
+        }
+    }
+
+    private Short insert(Kind kind, Terms terms, String value) {
+        if (terms.reserved.incrementAndGet() + terms.terms.size() > maxTermsPerKind) {
+            terms.reserved.decrementAndGet();
+            return null;
+        }
+        try {
+            VocabularyTerm term;
+            try {
+                term = newTransaction.execute(status -> {
+                    VocabularyTerm created = new VocabularyTerm();
+                    created.setKind(kind.key);
+                    created.setTerm(value);
+                    return vocabularyTermRepository.saveAndFlush(created);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance added it first
+                term = newTransaction.execute(status -> vocabularyTermRepository.findByKindAndTerm(kind.key, value)
+                        .orElseThrow(() -> e));
+            }
+            terms.put(term);
+            // The database may have matched an equivalent spelling under its collation
+            terms.codes.put(value, term.getId());
+            return term.getId();
+        } finally {
+            terms.reserved.decrementAndGet();
+        }
+    }
+
+    public String decode(Kind kind, Short code) {
+        if (code == null) {
+            return null;
+        }
+        Terms terms = terms(kind);
+        String term = terms.terms.get(code);
+        if (term == null) {
+            // Added by another instance since this cache was loaded
+            term = vocabularyTermRepository.findById(code)
+                    .filter(found -> found.getKind().equals(kind.key))
+                    .map(found -> {
+                        terms.put(found);
+                        return found.getTerm();
+                    })
+                    .orElse(null);
+        }
+        return term;
+    }
+
+    private Terms terms(Kind kind) {
+        return cache.computeIfAbsent(kind, k -> {
+            Terms loaded = new Terms();
+            vocabularyTermRepository.findByKind(k.key).forEach(loaded::put);
+            return loaded;
+        });
+    }
+}
@@ -0,0 +1,72 @@
+-- Baseline schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined past this script (spring.flyway.baseline-version)
+-- and only new databases run it.
+
+CREATE TABLE students (
+    id BINARY(16) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_students_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE chat_message (
+    id BINARY(16) NOT NULL,
+    student_id BINARY(16),
+    message TEXT NOT NULL,
+    sender VARCHAR(255) NOT NULL,
+    timestamp DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_chat_message_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE food_logs (
+    id BINARY(16) NOT NULL,
+    student_id BINARY(16) NOT NULL,
+    food_item VARCHAR(255) NOT NULL,
+    quantity VARCHAR(255),
+    meal_type VARCHAR(255),
+    eating_time DATETIME(6) NOT NULL,
+    emotion_emoji VARCHAR(255),
+    emotion_description VARCHAR(255),
+    hunger_level INTEGER,
+    satisfaction_level INTEGER,
+    location VARCHAR(255),
+    company VARCHAR(255),
+    notes VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_food_logs_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE trigger_logs (
+    id BINARY(16) NOT NULL,
+    student_id BINARY(16) NOT NULL,
+    emotion VARCHAR(255),
+    situation VARCHAR(255),
+    intensity INTEGER NOT NULL,
+    timestamp DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_trigger_logs_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE coping_tool_usage (
+    id BINARY(16) NOT NULL,
+    student_id BINARY(16),
+    tool_name VARCHAR(255) NOT NULL,
+    used_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_coping_tool_usage_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE insight (
+    id BINARY(16) NOT NULL,
+    student_id BINARY(16),
+    message VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_insight_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,13 @@
+-- Schema added after the Flyway baseline: the keyset index behind chat history
+-- paging and the per-student food log aggregates. Databases baselined at
+-- version 2 start here.
+
+CREATE INDEX idx_chat_message_student_timestamp ON chat_message (student_id, timestamp, id);
+
+CREATE TABLE food_log_aggregates (
+    student_id BINARY(16) NOT NULL,
+    features MEDIUMTEXT NOT NULL,
+    updated_at DATETIME(6),
+    rebuilt_at DATETIME(6),
+    PRIMARY KEY (student_id)
+) ENGINE=InnoDB;
@@ -1,38 +1,30 @@
--- Add onboarding fields to students table (safe version)
--- This migration will only add columns that don't already exist
+-- Add onboarding fields to students table
+-- (plain ADD COLUMN: MySQL has no ADD COLUMN IF NOT EXISTS; databases that already
+-- have these columns are baselined at version 2 and never run this script)
 
--- Add onboarding_completed column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS onboarding_completed BOOLEAN DEFAULT FALSE;
+ALTER TABLE students
+ADD COLUMN onboarding_completed BOOLEAN NOT NULL DEFAULT FALSE;
 
--- Add preferred_meal_times column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS preferred_meal_times VARCHAR(1000);
+ALTER TABLE students
+ADD COLUMN preferred_meal_times VARCHAR(1000);
 
--- Add emotional_eating_frequency column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS emotional_eating_frequency VARCHAR(50);
+ALTER TABLE students
+ADD COLUMN emotional_eating_frequency VARCHAR(50);
 
--- Add stress_triggers column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS stress_triggers VARCHAR(1000);
+ALTER TABLE students
+ADD COLUMN stress_triggers VARCHAR(1000);
 
--- Add comfort_foods column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS comfort_foods VARCHAR(1000);
+ALTER TABLE students
+ADD COLUMN comfort_foods VARCHAR(1000);
 
--- Add preferred_coping_methods column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS preferred_coping_methods VARCHAR(1000);
+ALTER TABLE students
+ADD COLUMN preferred_coping_methods VARCHAR(1000);
 
--- Add support_contacts column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS support_contacts VARCHAR(2000);
+ALTER TABLE students
+ADD COLUMN support_contacts VARCHAR(2000);
 
--- Add calming_songs column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS calming_songs VARCHAR(1000);
+ALTER TABLE students
+ADD COLUMN calming_songs VARCHAR(1000);
 
--- Add preferred_activities column if it doesn't exist
-ALTER TABLE students 
-ADD COLUMN IF NOT EXISTS preferred_activities VARCHAR(1000); 
\ No newline at end of file
+ALTER TABLE students
+ADD COLUMN preferred_activities VARCHAR(1000);
@@ -0,0 +1,10 @@
+-- Composite indexes for the per-student lookups. Every hot query filters on
+-- student_id first and then on (or orders by) a time column or a category.
+
+CREATE INDEX idx_food_logs_student_eating_time ON food_logs (student_id, eating_time);
+CREATE INDEX idx_food_logs_student_emotion ON food_logs (student_id, emotion_description, eating_time);
+CREATE INDEX idx_food_logs_student_meal_type ON food_logs (student_id, meal_type, eating_time);
+
+CREATE INDEX idx_trigger_logs_student_timestamp ON trigger_logs (student_id, timestamp);
+CREATE INDEX idx_coping_tool_usage_student_used_at ON coping_tool_usage (student_id, used_at);
+CREATE INDEX idx_insight_student_created_at ON insight (student_id, created_at);
@@ -0,0 +1,16 @@
+-- Delta sync for food logs: changes are read by (updated_at, id), deletions are
+-- recorded as tombstones.
+
+UPDATE food_logs SET updated_at = COALESCE(created_at, eating_time) WHERE updated_at IS NULL;
+
+CREATE INDEX idx_food_logs_student_updated_at ON food_logs (student_id, updated_at, id);
+
+CREATE TABLE food_log_tombstones (
+    food_log_id BINARY(16) NOT NULL,
+    student_id BINARY(16) NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (food_log_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_food_log_tombstones_student_deleted_at ON food_log_tombstones (student_id, deleted_at, food_log_id);
+CREATE INDEX idx_food_log_tombstones_deleted_at ON food_log_tombstones (deleted_at);
@@ -0,0 +1,55 @@
+-- Dictionary-encode emotions and meal types: normalize the stored text (trimmed,
+-- lower case, blank -> NULL), give every distinct value a small integer code in
+-- vocabulary_terms and store the code next to the text.
+
+CREATE TABLE vocabulary_terms (
+    id SMALLINT NOT NULL AUTO_INCREMENT,
+    kind VARCHAR(32) NOT NULL,
+    term VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_vocabulary_terms_kind_term UNIQUE (kind, term)
+) ENGINE=InnoDB;
+
+UPDATE food_logs SET emotion_description = LOWER(TRIM(emotion_description)) WHERE emotion_description IS NOT NULL;
+UPDATE food_logs SET emotion_description = NULL WHERE emotion_description = '';
+UPDATE food_logs SET meal_type = LOWER(TRIM(meal_type)) WHERE meal_type IS NOT NULL;
+UPDATE food_logs SET meal_type = NULL WHERE meal_type = '';
+UPDATE trigger_logs SET emotion = LOWER(TRIM(emotion)) WHERE emotion IS NOT NULL;
+UPDATE trigger_logs SET emotion = NULL WHERE emotion = '';
+
+-- Food log and trigger log emotions share one vocabulary
+INSERT INTO vocabulary_terms (kind, term)
+SELECT 'emotion', term FROM (
+    SELECT emotion_description AS term FROM food_logs WHERE emotion_description IS NOT NULL
+    UNION
+    SELECT emotion AS term FROM trigger_logs WHERE emotion IS NOT NULL
+) emotions ORDER BY term;
+
+INSERT INTO vocabulary_terms (kind, term)
+SELECT 'meal_type', term FROM (
+    SELECT DISTINCT meal_type AS term FROM food_logs WHERE meal_type IS NOT NULL
+) meal_types ORDER BY term;
+
+ALTER TABLE food_logs
+ADD COLUMN emotion_code SMALLINT;
+
+ALTER TABLE food_logs
+ADD COLUMN meal_type_code SMALLINT;
+
+ALTER TABLE trigger_logs
+ADD COLUMN emotion_code SMALLINT;
+
+UPDATE food_logs SET emotion_code =
+    (SELECT v.id FROM vocabulary_terms v WHERE v.kind = 'emotion' AND v.term = food_logs.emotion_description)
+WHERE emotion_description IS NOT NULL;
+
+UPDATE food_logs SET meal_type_code =
+    (SELECT v.id FROM vocabulary_terms v WHERE v.kind = 'meal_type' AND v.term = food_logs.meal_type)
+WHERE meal_type IS NOT NULL;
+
+UPDATE trigger_logs SET emotion_code =
+    (SELECT v.id FROM vocabulary_terms v WHERE v.kind = 'emotion' AND v.term = trigger_logs.emotion)
+WHERE emotion IS NOT NULL;
+
+-- Aggregates are keyed by the old spellings; they are rebuilt on next use
+DELETE FROM food_log_aggregates;
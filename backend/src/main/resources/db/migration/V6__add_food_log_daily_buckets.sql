@@ -0,0 +1,12 @@
+-- Per-student, per-day food log features for rolling-window insights. Rows are
+-- built lazily from food_logs and expire once they fall out of the longest window.
+
+CREATE TABLE food_log_daily_buckets (
+    student_id BINARY(16) NOT NULL,
+    bucket_date DATE NOT NULL,
+    features MEDIUMTEXT NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (student_id, bucket_date)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_food_log_daily_buckets_bucket_date ON food_log_daily_buckets (bucket_date);
@@ -0,0 +1,13 @@
+-- Progress of scheduled batch jobs, so an interrupted run resumes after the
+-- last completed chunk instead of starting over.
+
+CREATE TABLE insight_job_checkpoints (
+    job_name VARCHAR(64) NOT NULL,
+    run_date DATE NOT NULL,
+    last_student_id BINARY(16),
+    processed BIGINT NOT NULL,
+    failed BIGINT NOT NULL,
+    updated_at DATETIME(6),
+    completed_at DATETIME(6),
+    PRIMARY KEY (job_name)
+) ENGINE=InnoDB;
@@ -0,0 +1,4 @@
+-- When a student's daily buckets were last built from food_logs. Null means
+-- they have not been built, so row presence no longer doubles as the marker.
+
+ALTER TABLE food_log_aggregates ADD COLUMN buckets_built_at DATETIME(6);
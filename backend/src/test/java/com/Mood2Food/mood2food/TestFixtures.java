@@ -0,0 +1,47 @@
+package com.Mood2Food.mood2food;
+
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.util.JwtUtil;
+
+import java.time.LocalDateTime;
+
+/**
+ * Students and food log requests shared by the integration tests
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Student student(StudentRepository studentRepository, String email) {
+        Student student = new Student();
+        student.setName("Test Student");
+        student.setEmail(email);
+        student.setPassword("hashed");
+        return studentRepository.save(student);
+    }
+
+    public static String bearer(JwtUtil jwtUtil, Student student) {
+        return "Bearer " + jwtUtil.generateToken(student.getId(), student.getEmail());
+    }
+
+    // A snack with no emotion or levels; callers set whatever else they test
+    public static FoodLogRequest request(String foodItem, LocalDateTime eatingTime) {
+        FoodLogRequest request = new FoodLogRequest();
+        request.setFoodItem(foodItem);
+        request.setMealType("snack");
+        request.setEatingTime(eatingTime);
+        return request;
+    }
+
+    public static FoodLogRequest request(String foodItem, String emotion, int hungerLevel, int satisfactionLevel,
+                                         LocalDateTime eatingTime) {
+        FoodLogRequest request = request(foodItem, eatingTime);
+        request.setEmotionDescription(emotion);
+        request.setHungerLevel(hungerLevel);
+        request.setSatisfactionLevel(satisfactionLevel);
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.service.MlGatewayClient;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chat;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ChatControllerConnectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private MlGatewayClient mlGatewayClient;
+
+    @Test
+    void noConnectionIsCheckedOutDuringTheMlCall() throws Exception {
+        Student student = TestFixtures.student(studentRepository, "connections@test.com");
+        String token = jwtUtil.generateToken(student.getId(), student.getEmail());
+
+        AtomicInteger activeDuringCall = new AtomicInteger(-1);
+        when(mlGatewayClient.classifyEmotion(any())).thenAnswer(invocation -> {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            activeDuringCall.set(hikari.getHikariPoolMXBean().getActiveConnections());
+            return Map.of("emotion", "neutral", "insight", "Thanks for sharing!");
+        });
+
+        mockMvc.perform(post("/api/chat/message")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"I had a long day\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reply").value("Thanks for sharing!"));
+
+        assertEquals(0, activeDuringCall.get());
+    }
+}
@@ -0,0 +1,94 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.service.FoodLogService;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class FoodLogControllerPageTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesThroughFilteredLogsWithSparseFields() throws Exception {
+        Student student = TestFixtures.student(studentRepository, "pages@test.com");
+        String token = TestFixtures.bearer(jwtUtil, student);
+
+        // Two logs share an eating time so the id tiebreak is exercised
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 12, 0);
+        for (int i = 0; i < 7; i++) {
+            FoodLogRequest request = TestFixtures.request("meal " + i, i == 6 ? base.minusHours(4) : base.minusHours(i));
+            request.setMealType(i % 2 == 0 ? "snack" : "lunch");
+            request.setSatisfactionLevel(i);
+            request.setNotes("long notes " + i);
+            foodLogService.createFoodLog(student.getId(), request);
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var call = get("/api/food-logs/page")
+                    .header("Authorization", token)
+                    .param("limit", "1")
+                    .param("mealType", "snack")
+                    .param("fields", "foodItem,eatingTime");
+            if (cursor != null) {
+                call.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(call)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            for (JsonNode foodLog : page.get("foodLogs")) {
+                assertFalse(foodLog.has("notes"));
+                seen.add(foodLog.get("foodItem").asText());
+            }
+            cursor = page.get("hasMore").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        // meal 4 and meal 6 tie on eating time, so their relative order comes from the id
+        assertEquals(List.of("meal 0", "meal 2"), seen.subList(0, 2));
+        assertEquals(Set.of("meal 4", "meal 6"), Set.copyOf(seen.subList(2, seen.size())));
+        assertEquals(4, seen.size());
+
+        mockMvc.perform(get("/api/food-logs/page")
+                        .header("Authorization", token)
+                        .param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+}
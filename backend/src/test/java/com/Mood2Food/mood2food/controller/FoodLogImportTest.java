@@ -0,0 +1,92 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class FoodLogImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Student student(String email) {
+        return TestFixtures.student(studentRepository, email);
+    }
+
+    private String bearer(Student student) {
+        return TestFixtures.bearer(jwtUtil, student);
+    }
+
+    @Test
+    void importsNdjsonAndReportsBadRows() throws Exception {
+        Student student = student("ndjson@test.com");
+        String body = """
+                {"foodItem":"toast","mealType":"breakfast","eatingTime":"2025-03-10T08:00","hungerLevel":6,"satisfactionLevel":7}
+                {"foodItem":"","hungerLevel":6,"satisfactionLevel":7}
+
+                {"foodItem":"chips","mealType":"snack","hungerLevel":8,"satisfactionLevel":3}
+                {"foodItem":"soup",
+                """;
+
+        mockMvc.perform(post("/api/food-logs/import")
+                        .header("Authorization", bearer(student))
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Food item is required"))
+                .andExpect(jsonPath("$.errors[1].row").value(4));
+
+        assertEquals(2, foodLogRepository.countByStudent(student));
+    }
+
+    @Test
+    void importsCsvWithHeader() throws Exception {
+        Student student = student("csv@test.com");
+        String body = """
+                foodItem,mealType,eatingTime,hungerLevel,satisfactionLevel,notes
+                apple,snack,2025-03-10T10:30,4,8,
+                pasta,dinner,2025-03-10T19:00,7,
+                rice,lunch,2025-03-10T12:15,abc,6,
+                """;
+
+        mockMvc.perform(post("/api/food-logs/import")
+                        .header("Authorization", bearer(student))
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Satisfaction level is required"))
+                .andExpect(jsonPath("$.errors[1].row").value(3));
+
+        assertEquals(1, foodLogRepository.countByStudent(student));
+    }
+}
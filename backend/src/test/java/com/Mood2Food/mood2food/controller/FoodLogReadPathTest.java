@@ -0,0 +1,97 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.service.FoodLogService;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each food log read endpoint issues. Every request
+ * pays one lookup in the JWT filter; the endpoint itself should add one query
+ * per result it returns and never load the Student behind each food log.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class FoodLogReadPathTest {
+
+    private static final long AUTH_STATEMENTS = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void readEndpointsUseOneQueryPerResult() throws Exception {
+        Student student = TestFixtures.student(studentRepository, "reads@test.com");
+        String token = TestFixtures.bearer(jwtUtil, student);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            FoodLogRequest request = TestFixtures.request("meal " + i, i % 3 == 0 ? "stressed" : "happy",
+                8, i < 3 ? 9 : 2, now.minusHours(i));
+            request.setMealType(i % 2 == 0 ? "snack" : "lunch");
+            foodLogService.createFoodLog(student.getId(), request);
+        }
+        // Builds the aggregate row and loads the event cache so stats reads both rather than recounting
+        foodLogService.getFoodLogStats(student.getId());
+
+        Map<String, Long> expected = Map.of(
+                "/api/food-logs", 1L,
+                "/api/food-logs/today", 1L,
+                "/api/food-logs/date/" + LocalDate.now(), 1L,
+                "/api/food-logs/meal-type/snack", 1L,
+                "/api/food-logs/emotion/stressed", 1L,
+                "/api/food-logs/recent", 1L,
+                // aggregate and the three food log lists; today's count comes from the event cache
+                "/api/food-logs/stats", 4L);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (Map.Entry<String, Long> endpoint : expected.entrySet()) {
+            statistics.clear();
+            mockMvc.perform(get(endpoint.getKey()).header("Authorization", token))
+                    .andExpect(status().isOk());
+            assertEquals(AUTH_STATEMENTS + endpoint.getValue(), statistics.getPrepareStatementCount(), endpoint.getKey());
+            assertEquals(0, statistics.getEntityStatistics(FoodLog.class.getName()).getLoadCount(), endpoint.getKey());
+            assertEquals(1, statistics.getEntityStatistics(Student.class.getName()).getLoadCount(), endpoint.getKey());
+        }
+
+        mockMvc.perform(get("/api/food-logs/meal-type/snack").header("Authorization", token))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].foodItem").value("meal 0"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.Mood2Food.mood2food.controller;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.dto.FoodLogResponse;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.service.FoodLogService;
+import com.Mood2Food.mood2food.util.JwtUtil;
+import com.Mood2Food.mood2food.util.KeysetCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:foodlogsync;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "food-log.sync.settle-ms=0"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class FoodLogSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void syncsCreatesThenUpdatesAndDeletes() throws Exception {
+        Student student = TestFixtures.student(studentRepository, "sync@test.com");
+        String token = TestFixtures.bearer(jwtUtil, student);
+
+        List<FoodLogResponse> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(foodLogService.createFoodLog(student.getId(), request("meal " + i)));
+        }
+
+        // Full sync in pages of two
+        List<String> seen = new ArrayList<>();
+        String watermark = null;
+        JsonNode page;
+        do {
+            page = sync(token, watermark, 2);
+            page.get("upserts").forEach(foodLog -> seen.add(foodLog.get("foodItem").asText()));
+            watermark = page.get("watermark").asText();
+        } while (page.get("hasMore").asBoolean());
+        assertEquals(List.of("meal 0", "meal 1", "meal 2", "meal 3", "meal 4"), seen);
+
+        // Nothing new: empty delta
+        page = sync(token, watermark, 2);
+        assertEquals(0, page.get("upserts").size());
+        assertEquals(0, page.get("deletes").size());
+        watermark = page.get("watermark").asText();
+
+        foodLogService.updateFoodLog(student.getId(), created.get(1).getId(), request("meal 1 edited"));
+        foodLogService.deleteFoodLog(student.getId(), created.get(3).getId());
+
+        page = sync(token, watermark, 10);
+        assertFalse(page.get("hasMore").asBoolean());
+        assertFalse(page.get("resetRequired").asBoolean());
+        assertEquals(1, page.get("upserts").size());
+        assertEquals("meal 1 edited", page.get("upserts").get(0).get("foodItem").asText());
+        assertEquals(1, page.get("deletes").size());
+        assertEquals(created.get(3).getId().toString(), page.get("deletes").get(0).asText());
+
+        mockMvc.perform(get("/api/food-logs/sync")
+                        .header("Authorization", token)
+                        .param("since", "not-a-watermark"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void staleWatermarkRequiresReset() throws Exception {
+        Student student = TestFixtures.student(studentRepository, "stale@test.com");
+        String token = TestFixtures.bearer(jwtUtil, student);
+
+        String stale = new KeysetCursor(LocalDateTime.now().minusYears(1), new UUID(0, 0)).encode();
+        assertTrue(sync(token, stale, 10).get("resetRequired").asBoolean());
+    }
+
+    private FoodLogRequest request(String foodItem) {
+        return TestFixtures.request(foodItem, LocalDateTime.of(2025, 3, 10, 12, 0));
+    }
+
+    private JsonNode sync(String token, String since, int limit) throws Exception {
+        var call = get("/api/food-logs/sync")
+                .header("Authorization", token)
+                .param("limit", String.valueOf(limit));
+        if (since != null) {
+            call.param("since", since);
+        }
+        return objectMapper.readTree(mockMvc.perform(call)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,58 @@
+package com.Mood2Food.mood2food.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A database created before Flyway was enabled: it already has the V1/V2 schema
+ * but no history table. On start it is baselined at version 2 (the production
+ * settings), the later migrations run, and ddl-auto=validate (with the
+ * production MySQL dialect) must still pass. Runs on H2, so it checks the
+ * baseline logic, not that the scripts are valid MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + LegacySchemaUpgradeTest.URL,
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@ActiveProfiles("test")
+class LegacySchemaUpgradeTest {
+
+    static final String URL = "jdbc:h2:mem:schemalegacy;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void createPreFlywaySchema() throws Exception {
+        // Runs before the Spring context (and so Flyway) starts
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__baseline_schema.sql'");
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V2__add_onboarding_fields.sql'");
+        }
+    }
+
+    @Test
+    void baselinedDatabaseGetsEveryLaterMigration() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet baseline = statement.executeQuery(
+                     "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"type\" = 'BASELINE' AND \"version\" = '2'")) {
+            baseline.next();
+            assertEquals(1, baseline.getInt(1));
+        }
+    }
+}
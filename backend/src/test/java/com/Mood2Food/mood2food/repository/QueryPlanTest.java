@@ -0,0 +1,146 @@
+package com.Mood2Food.mood2food.repository;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.Student;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode, captures the SQL that the
+ * hot repository methods actually generate and EXPLAINs it. Fails if a query
+ * falls back to a table scan or stops using the index it was built for.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.Mood2Food.mood2food.repository.QueryPlanTest$Recorder"
+})
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    public static class Recorder implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private TriggerLogRepository triggerLogRepository;
+
+    @Autowired
+    private CopingToolUsageRepository copingToolUsageRepository;
+
+    @Autowired
+    private InsightRepository insightRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void hotQueriesUseTheirIndexes() throws Exception {
+        Student saved = TestFixtures.student(studentRepository, "plans@test.com");
+        LocalDateTime now = LocalDateTime.now();
+        seedFoodLogs(saved, now);
+
+        assertUsesIndex("idx_food_logs_student_eating_time",
+            () -> foodLogRepository.findByStudentAndDate(saved, LocalDate.now()));
+        assertUsesIndex("idx_food_logs_student_eating_time",
+            () -> foodLogRepository.countByStudentAndDate(saved, LocalDate.now()));
+        assertUsesIndex("idx_food_logs_student_eating_time",
+            () -> foodLogRepository.findRecentFoodLogs(saved, now.minusDays(7)));
+        assertUsesIndex("idx_food_logs_student_eating_time",
+            () -> foodLogRepository.countByStudentAndEatingTimeBetween(saved, now.minusDays(1), now));
+        assertUsesIndex("idx_food_logs_student_emotion",
+            () -> foodLogRepository.findByStudentAndEmotionDescriptionOrderByEatingTimeDesc(saved, "sad"));
+        assertUsesIndex("idx_food_logs_student_meal_type",
+            () -> foodLogRepository.findByStudentAndMealTypeOrderByEatingTimeDesc(saved, "snack"));
+        assertUsesIndex("idx_food_logs_student_updated_at",
+            () -> foodLogRepository.findChangedAfter(saved, now.minusDays(1), new UUID(0, 0), now, PageRequest.of(0, 100)));
+        assertUsesIndex("idx_coping_tool_usage_student_used_at",
+            () -> copingToolUsageRepository.countByStudentAndCreatedAtBetween(saved, now.minusDays(1), now));
+
+        // Equality on student_id alone: H2 ranks every student_id index the same (it
+        // does not cost away the sort), so only require that some index is used
+        assertUsesIndex(null, () -> chatMessageRepository.findFirstPageNewestFirst(saved, PageRequest.of(0, 20)));
+        assertUsesIndex(null, () -> triggerLogRepository.findByStudentId(saved.getId()));
+        assertUsesIndex(null, () -> insightRepository.findFirstByStudentOrderByCreatedAtDesc(saved));
+    }
+
+    // Enough varied rows for the planner's selectivity statistics to mean something
+    private void seedFoodLogs(Student student, LocalDateTime now) throws Exception {
+        String[] emotions = {"happy", "sad", "stressed", "bored", "anxious", "neutral", "tired", "angry"};
+        String[] mealTypes = {"breakfast", "lunch", "dinner", "snack"};
+        for (int i = 0; i < 400; i++) {
+            FoodLog foodLog = new FoodLog();
+            foodLog.setStudent(student);
+            foodLog.setFoodItem("item " + i);
+            foodLog.setEmotionDescription(emotions[i % emotions.length]);
+            foodLog.setMealType(mealTypes[i % mealTypes.length]);
+            foodLog.setEatingTime(now.minusHours(i * 7L));
+            foodLogRepository.save(foodLog);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("ANALYZE");
+        }
+    }
+
+    private void assertUsesIndex(String index, Runnable query) throws Exception {
+        statements.clear();
+        query.run();
+        // The query itself comes first; eager associations may load after it
+        String sql = statements.get(0);
+        String plan = explain(sql).toLowerCase();
+        assertFalse(plan.contains("tablescan"), "Full scan for: " + sql + "\n" + plan);
+        assertTrue(index == null || plan.contains(index), "Expected " + index + " for: " + sql + "\n" + plan);
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // The plan only depends on which columns are bound, not their values
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
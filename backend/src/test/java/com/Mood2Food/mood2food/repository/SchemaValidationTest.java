@@ -0,0 +1,34 @@
+package com.Mood2Food.mood2food.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds a fresh database from the Flyway migrations alone and starts the app
+ * with ddl-auto=validate, so any entity the migrations don't match fails startup.
+ * Uses the production MySQL dialect, so UUIDs are expected as BINARY(16). H2
+ * accepts syntax MySQL rejects, so this does not prove the scripts run on MySQL;
+ * MySqlMigrationTest does.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemafresh;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@ActiveProfiles("test")
+class SchemaValidationTest {
+
+    @Autowired
+    private FoodLogAggregateRepository foodLogAggregateRepository;
+
+    @Test
+    void migrationsMatchTheEntities() {
+        // Startup already validated every entity; the newest tables are queryable too
+        assertTrue(foodLogAggregateRepository.findAll().isEmpty());
+    }
+}
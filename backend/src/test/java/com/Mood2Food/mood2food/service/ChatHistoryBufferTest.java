@@ -0,0 +1,96 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.ChatMessage;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.ChatMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatHistoryBufferTest {
+
+    private static Student student() {
+        Student student = new Student();
+        student.setId(UUID.randomUUID());
+        return student;
+    }
+
+    private static ChatMessage message(Student student, String text) {
+        ChatMessage message = new ChatMessage();
+        message.setId(UUID.randomUUID());
+        message.setStudent(student);
+        message.setSender("USER");
+        message.setMessage(text);
+        return message;
+    }
+
+    private static ChatHistoryBuffer buffer(ChatMessageRepository repository) {
+        ChatHistoryBuffer buffer = new ChatHistoryBuffer();
+        ReflectionTestUtils.setField(buffer, "chatMessageRepository", repository);
+        ReflectionTestUtils.setField(buffer, "idleTtlMs", 60_000L);
+        ReflectionTestUtils.setField(buffer, "maxBytes", 1_000_000L);
+        return buffer;
+    }
+
+    @Test
+    void appendsOnlyAfterCommit() {
+        Student student = student();
+        ChatMessageRepository repository = mock(ChatMessageRepository.class);
+        when(repository.findTop10ByStudentOrderByTimestampDesc(student)).thenReturn(List.of(message(student, "hi")));
+        ChatHistoryBuffer buffer = buffer(repository);
+        assertEquals(1, buffer.recent(student).size());
+
+        // Rolled back: the synchronization is dropped without afterCommit
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.append(message(student, "lost"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, buffer.recent(student).size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.append(message(student, "kept"));
+            assertEquals(1, buffer.recent(student).size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals("kept", buffer.recent(student).get(0).getMessage());
+    }
+
+    @Test
+    void loadRacingWithACommitIsNotCached() {
+        Student student = student();
+        ChatMessageRepository repository = mock(ChatMessageRepository.class);
+        ChatHistoryBuffer buffer = buffer(repository);
+        List<ChatMessage> rows = new ArrayList<>();
+        when(repository.findTop10ByStudentOrderByTimestampDesc(student)).thenAnswer(invocation -> {
+            List<ChatMessage> snapshot = new ArrayList<>(rows);
+            if (rows.isEmpty()) {
+                // A message commits while the first load is reading the old history
+                ChatMessage committed = message(student, "hello");
+                rows.add(committed);
+                buffer.append(committed);
+            }
+            return snapshot;
+        });
+
+        assertEquals(0, buffer.recent(student).size());
+        assertEquals(1, buffer.recent(student).size());
+        assertEquals(1, buffer.recent(student).size());
+        verify(repository, times(2)).findTop10ByStudentOrderByTimestampDesc(student);
+    }
+}
@@ -0,0 +1,77 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CohortAnalyticsServiceTest {
+
+    @Autowired
+    private CohortAnalyticsService cohortAnalyticsService;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    private void log(Student student, int hour, int satisfaction) {
+        foodLogService.createFoodLog(student.getId(),
+            TestFixtures.request("cake", "jubilant", 5, satisfaction, LocalDateTime.of(2025, 4, 2, hour, 0)));
+    }
+
+    @Test
+    void partitionsCoverTheIdSpaceContiguously() {
+        List<UUID[]> ranges = CohortAnalyticsService.partition(3);
+        assertEquals(new UUID(0L, 0L), ranges.get(0)[0]);
+        assertEquals(new UUID(-1L, -1L), ranges.get(2)[1]);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(ranges.get(i)[1].getMostSignificantBits() + 1, ranges.get(i + 1)[0].getMostSignificantBits());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mergesPartitionScansIntoOneSnapshot() {
+        for (String email : List.of("cohort-a@test.com", "cohort-b@test.com")) {
+            Student saved = TestFixtures.student(studentRepository, email);
+            log(saved, 9, 3);
+            log(saved, 9, 8);
+        }
+
+        ReflectionTestUtils.setField(cohortAnalyticsService, "partitions", 3);
+        ReflectionTestUtils.setField(cohortAnalyticsService, "pageSize", 2);
+        try {
+            cohortAnalyticsService.refresh();
+        } finally {
+            ReflectionTestUtils.setField(cohortAnalyticsService, "partitions", 0);
+            ReflectionTestUtils.setField(cohortAnalyticsService, "pageSize", 1000);
+        }
+
+        Map<String, Object> snapshot = cohortAnalyticsService.getSnapshot();
+        assertEquals(foodLogRepository.count(), snapshot.get("totalLogs"));
+        assertEquals(foodLogRepository.findAll().stream().map(log -> log.getStudent().getId()).distinct().count(),
+                snapshot.get("studentCount"));
+        assertEquals(Map.of(9, 4L), ((Map<String, Object>) snapshot.get("hourByEmotion")).get("jubilant"));
+        assertEquals(9, ((Map<String, Integer>) snapshot.get("peakHourByEmotion")).get("jubilant"));
+        assertEquals(0.5, ((Map<String, Double>) snapshot.get("lowSatisfactionShareByEmotion")).get("jubilant"));
+    }
+}
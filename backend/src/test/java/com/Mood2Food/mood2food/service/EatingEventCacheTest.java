@@ -0,0 +1,87 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EatingEventCacheTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 5, 1, 12, 0);
+
+    private static FoodLog log(LocalDateTime eatingTime) {
+        FoodLog foodLog = new FoodLog();
+        foodLog.setEatingTime(eatingTime);
+        return foodLog;
+    }
+
+    private static EatingEventCache cache(FoodLogRepository repository) {
+        EatingEventCache cache = new EatingEventCache();
+        ReflectionTestUtils.setField(cache, "foodLogRepository", repository);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_000_000L);
+        return cache;
+    }
+
+    @Test
+    void appendsOnlyAfterCommit() {
+        UUID studentId = UUID.randomUUID();
+        FoodLogRepository repository = mock(FoodLogRepository.class);
+        when(repository.findEatingEvents(studentId)).thenReturn(List.<Object[]>of(new Object[]{NOON, 5, 5, null, null}));
+        EatingEventCache cache = cache(repository);
+        assertEquals(1, cache.events(studentId).size());
+
+        // Rolled back: the synchronization is dropped without afterCommit
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.append(studentId, log(NOON.plusHours(1)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, cache.events(studentId).size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.append(studentId, log(NOON.plusHours(2)));
+            assertEquals(1, cache.events(studentId).size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(2, cache.events(studentId).size());
+    }
+
+    @Test
+    void loadRacingWithACommitIsNotCached() {
+        UUID studentId = UUID.randomUUID();
+        FoodLogRepository repository = mock(FoodLogRepository.class);
+        EatingEventCache cache = cache(repository);
+        List<Object[]> rows = new ArrayList<>();
+        when(repository.findEatingEvents(studentId)).thenAnswer(invocation -> {
+            List<Object[]> snapshot = new ArrayList<>(rows);
+            if (rows.isEmpty()) {
+                // A create commits while the first load is reading the old history
+                rows.add(new Object[]{NOON, 5, 5, null, null});
+                cache.append(studentId, log(NOON));
+            }
+            return snapshot;
+        });
+
+        assertEquals(0, cache.events(studentId).size());
+        assertEquals(1, cache.events(studentId).size());
+        assertEquals(1, cache.events(studentId).size());
+        verify(repository, times(2)).findEatingEvents(studentId);
+    }
+}
@@ -0,0 +1,53 @@
+package com.Mood2Food.mood2food.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EatingEventsTest {
+
+    private static final short SAD = 3;
+    private static final short HAPPY = 1;
+
+    private static EatingEvents empty() {
+        return new EatingEvents(new int[0], new byte[0], new byte[0], new short[0], new short[0]);
+    }
+
+    @Test
+    void appendsOutOfOrderAndAnswersRangesAndStreaks() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        EatingEvents events = empty()
+                .with(today.atTime(12, 0), 8, 3, SAD, null)
+                .with(today.minusDays(2).atTime(9, 0), 4, 8, HAPPY, null)
+                .with(today.minusDays(1).atTime(23, 59), null, null, null, null)
+                .with(today.atTime(8, 30), 5, 7, HAPPY, null)
+                .with(today.minusDays(4).atTime(10, 0), 5, 5, null, null)
+                .with(today.plusDays(1).atTime(10, 0), 5, 5, null, null);
+
+        assertEquals(6, events.size());
+        assertEquals(2, events.countBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+        assertEquals(1, events.countBetween(today.minusDays(1).atStartOfDay(), today.atStartOfDay()));
+        // Three days in a row, then a gap; the future log doesn't count
+        assertEquals(3, events.dayStreak(today, 30));
+        assertEquals(2, events.dayStreak(today, 2));
+        assertEquals(0, events.dayStreak(today.minusDays(3), 30));
+
+        Vocabulary vocabulary = mock(Vocabulary.class);
+        when(vocabulary.decode(Vocabulary.Kind.EMOTION, SAD)).thenReturn("sad");
+        when(vocabulary.decode(Vocabulary.Kind.EMOTION, HAPPY)).thenReturn("happy");
+
+        FoodLogFeatures todays = events.features(today.atStartOfDay(), today.plusDays(1).atStartOfDay(), vocabulary);
+        assertEquals(2, todays.getTotalLogs());
+        assertEquals(1, todays.getEmotionalEatingCount());
+        assertEquals(5.0, todays.averageSatisfaction(0));
+        assertEquals(Map.of("sad", 1L, "happy", 1L), todays.getEmotionCounts());
+        assertEquals(1, todays.getHourCounts()[12]);
+        assertEquals("sad", events.latestEmotion(today.atStartOfDay(), today.plusDays(1).atStartOfDay(), vocabulary));
+    }
+}
@@ -0,0 +1,133 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.dto.FoodLogResponse;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogAggregateRepository;
+import com.Mood2Food.mood2food.repository.FoodLogDailyBucketRepository;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FoodLogDailyBucketTest {
+
+    @Autowired
+    private FoodLogDailyBucketService foodLogDailyBucketService;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private FoodInsightService foodInsightService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private FoodLogDailyBucketRepository bucketRepository;
+
+    @Autowired
+    private FoodLogAggregateRepository aggregateRepository;
+
+    private Student student(String email) {
+        return TestFixtures.student(studentRepository, email);
+    }
+
+    private FoodLogRequest request(int daysAgo) {
+        return TestFixtures.request("toast", "stressed", 8, 3, LocalDate.now().minusDays(daysAgo).atTime(12, 0));
+    }
+
+    private long windowTotal(Student student, int days) {
+        return foodLogDailyBucketService.getWindowFeatures(student, days).getTotalLogs();
+    }
+
+    @Test
+    void buildsBucketsFromHistoryOnFirstUse() {
+        Student student = student("window-history@test.com");
+        // Saved directly, so no buckets exist yet
+        for (int daysAgo : new int[] {0, 10, 40, 100}) {
+            foodLogRepository.save(foodLogService.buildFoodLog(student, request(daysAgo)));
+        }
+
+        assertEquals(1, windowTotal(student, 7));
+        assertEquals(2, windowTotal(student, 30));
+        assertEquals(3, windowTotal(student, 90));
+    }
+
+    @Test
+    void readsNeverWrite() {
+        Student student = student("window-readonly@test.com");
+        foodLogRepository.save(foodLogService.buildFoodLog(student, request(3)));
+
+        assertEquals(1, windowTotal(student, 7));
+        assertTrue(bucketRepository.findInRange(student.getId(), LocalDate.now().minusDays(89), LocalDate.now()).isEmpty());
+        assertTrue(aggregateRepository.findById(student.getId()).isEmpty());
+    }
+
+    @Test
+    void marksBucketsBuiltEvenWithNothingInTheWindow() {
+        Student student = student("window-old-only@test.com");
+        foodLogService.createFoodLog(student.getId(), request(200));
+
+        assertNotNull(aggregateRepository.findById(student.getId()).orElseThrow().getBucketsBuiltAt());
+        assertEquals(0, windowTotal(student, 90));
+
+        foodLogService.createFoodLog(student.getId(), request(1));
+        assertEquals(1, windowTotal(student, 7));
+    }
+
+    @Test
+    void writesMoveLogsBetweenBuckets() {
+        Student student = student("window-writes@test.com");
+        foodLogService.createFoodLog(student.getId(), request(1));
+        FoodLogResponse created = foodLogService.createFoodLog(student.getId(), request(5));
+        assertEquals(2, windowTotal(student, 7));
+
+        FoodLogRequest moved = request(50);
+        moved.setEmotionDescription("bored");
+        foodLogService.updateFoodLog(student.getId(), created.getId(), moved);
+        assertEquals(1, windowTotal(student, 7));
+        FoodLogFeatures quarter = foodLogDailyBucketService.getWindowFeatures(student, 90);
+        assertEquals(2, quarter.getTotalLogs());
+        assertEquals(Map.of("stressed", 1L, "bored", 1L), quarter.getEmotionCounts());
+
+        foodLogService.deleteFoodLog(student.getId(), created.getId());
+        assertEquals(1, windowTotal(student, 90));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void analyzesOnlyTheWindow() {
+        Student student = student("window-insights@test.com");
+        foodLogService.createFoodLog(student.getId(), request(2));
+        FoodLogRequest old = request(60);
+        old.setEmotionDescription("happy");
+        foodLogService.createFoodLog(student.getId(), old);
+
+        Map<String, Object> week = foodInsightService.analyzeWindow(student, 7);
+        Map<String, Object> patterns = (Map<String, Object>) week.get("emotionalPatterns");
+        assertEquals(1L, patterns.get("totalLogs"));
+        assertEquals("stressed", patterns.get("mostCommonEmotion"));
+        assertEquals(LocalDate.now().minusDays(6).toString(), week.get("from"));
+
+        assertThrows(IllegalArgumentException.class, () -> foodInsightService.analyzeWindow(student, 14));
+    }
+}
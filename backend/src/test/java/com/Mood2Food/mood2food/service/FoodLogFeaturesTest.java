@@ -0,0 +1,80 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FoodLogFeaturesTest {
+
+    private static FoodLog log(String emotion, String mealType, int hour, Integer hunger, Integer satisfaction) {
+        FoodLog foodLog = new FoodLog();
+        foodLog.setFoodItem("toast");
+        foodLog.setEmotionDescription(emotion);
+        foodLog.setMealType(mealType);
+        foodLog.setEatingTime(LocalDateTime.of(2025, 1, 1, hour, 0));
+        foodLog.setHungerLevel(hunger);
+        foodLog.setSatisfactionLevel(satisfaction);
+        foodLog.setLocation("home");
+        return foodLog;
+    }
+
+    @Test
+    void incrementalUpdatesMatchARecount() {
+        FoodLog kept = log("sad", "snack", 22, 8, 3);
+        FoodLog edited = log("happy", "lunch", 12, 5, 9);
+        FoodLog deleted = log("sad", "dinner", 19, null, 4);
+
+        FoodLogFeatures running = new FoodLogFeatures();
+        running.merge(FoodLogFeatures.of(kept), 1);
+        running.merge(FoodLogFeatures.of(edited), 1);
+        running.merge(FoodLogFeatures.of(deleted), 1);
+
+        FoodLogFeatures before = FoodLogFeatures.of(edited);
+        edited.setEmotionDescription("stressed");
+        edited.setEatingTime(LocalDateTime.of(2025, 1, 1, 23, 0));
+        edited.setHungerLevel(9);
+        edited.setSatisfactionLevel(2);
+        running.merge(before, -1);
+        running.merge(FoodLogFeatures.of(edited), 1);
+        running.merge(FoodLogFeatures.of(deleted), -1);
+
+        assertEquals(FoodLogFeatures.of(List.of(kept, edited)), running);
+        assertEquals(2, running.getEmotionalEatingCount());
+        assertEquals(22, running.peakHour(12));
+    }
+
+    @Test
+    void analyzerCountsEveryDimensionInOnePass() {
+        FoodLogFeatures features = FoodLogFeatures.of(List.of(
+            log("sad", "snack", 22, 8, 3),
+            log("sad", "snack", 22, 12, null),
+            log("happy", "lunch", 12, null, 9),
+            log(null, null, 7, 2, 6)));
+
+        assertEquals(4, features.getTotalLogs());
+        assertEquals(1, features.getEmotionalEatingCount());
+        assertEquals(Map.of("sad", 2L, "happy", 1L), features.getEmotionCounts());
+        assertEquals(Map.of("snack", 2L, "lunch", 1L), features.getMealTypeCounts());
+        assertEquals(Map.of("home", 4L), features.getLocationCounts());
+        assertEquals(Map.of(22, 2L, 12, 1L, 7, 1L), features.hourCountMap());
+        assertEquals(Map.of(22, 1L), features.emotionalEatingByHourMap());
+        assertEquals(22.0 / 3, features.averageHunger(0));
+        assertEquals(6.0, features.averageSatisfaction(0));
+    }
+
+    @Test
+    void survivesSerialization() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        FoodLogFeatures features = FoodLogFeatures.of(List.of(log("sad", "snack", 22, 8, 3), log("happy", "lunch", 12, 5, 9)));
+
+        String json = objectMapper.writeValueAsString(features);
+
+        assertEquals(features, objectMapper.readValue(json, FoodLogFeatures.class));
+    }
+}
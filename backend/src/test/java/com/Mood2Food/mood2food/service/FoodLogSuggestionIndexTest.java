@@ -0,0 +1,57 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.service.FoodLogSuggestionIndex.Field;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FoodLogSuggestionIndexTest {
+
+    private static FoodLog log(String foodItem, String location) {
+        FoodLog foodLog = new FoodLog();
+        foodLog.setFoodItem(foodItem);
+        foodLog.setLocation(location);
+        return foodLog;
+    }
+
+    @Test
+    void ranksPrefixMatchesByFrequencyAndTracksChanges() {
+        UUID studentId = UUID.randomUUID();
+        FoodLogRepository repository = mock(FoodLogRepository.class);
+        when(repository.countSuggestionValues(studentId)).thenReturn(List.of(
+                new Object[]{"Pizza", "home", null, 3L},
+                new Object[]{"pasta", "home", "friends", 5L},
+                new Object[]{"pancakes", "cafe", null, 1L},
+                new Object[]{"soup", null, null, 2L}));
+
+        FoodLogSuggestionIndex index = new FoodLogSuggestionIndex();
+        ReflectionTestUtils.setField(index, "foodLogRepository", repository);
+        ReflectionTestUtils.setField(index, "idleTtlMs", 60_000L);
+        ReflectionTestUtils.setField(index, "maxBytes", 1_000_000L);
+
+        assertEquals(List.of("pasta", "Pizza", "pancakes"), index.suggest(studentId, Field.FOOD_ITEM, "P", 5));
+        assertEquals(List.of("pasta", "Pizza"), index.suggest(studentId, Field.FOOD_ITEM, "p", 2));
+        assertEquals(List.of("home", "cafe"), index.suggest(studentId, Field.LOCATION, "", 5));
+        assertEquals(List.of(), index.suggest(studentId, Field.FOOD_ITEM, "x", 5));
+
+        // Later logs are counted in memory, matched case-insensitively and removable
+        for (int i = 0; i < 3; i++) {
+            index.add(studentId, log("PIZZA ", "dorm"));
+        }
+        index.remove(studentId, log("pancakes", "cafe"));
+        assertEquals(List.of("PIZZA", "pasta"), index.suggest(studentId, Field.FOOD_ITEM, "p", 5));
+        assertEquals(List.of("home", "dorm"), index.suggest(studentId, Field.LOCATION, "", 5));
+
+        verify(repository, times(1)).countSuggestionValues(studentId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.entity.InsightJobCheckpoint;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.InsightJobCheckpointRepository;
+import com.Mood2Food.mood2food.repository.InsightRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InsightPrecomputeJobTest {
+
+    @Autowired
+    private InsightPrecomputeJob insightPrecomputeJob;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private InsightRepository insightRepository;
+
+    @Autowired
+    private InsightJobCheckpointRepository checkpointRepository;
+
+    private Student student(String email, boolean withLog) {
+        Student saved = TestFixtures.student(studentRepository, email);
+        if (withLog) {
+            foodLogService.createFoodLog(saved.getId(),
+                TestFixtures.request("chips", "stressed", 8, 3, LocalDateTime.now().minusHours(1)));
+        }
+        return saved;
+    }
+
+    @Test
+    void precomputesActiveStudentsAndResumesFromCheckpoint() {
+        checkpointRepository.deleteAll();
+        Student first = student("precompute-a@test.com", true);
+        Student second = student("precompute-b@test.com", true);
+        Student idle = student("precompute-idle@test.com", false);
+
+        insightPrecomputeJob.precomputeAll();
+
+        assertEquals(1, insightRepository.countByStudent(first));
+        assertEquals(1, insightRepository.countByStudent(second));
+        assertEquals(0, insightRepository.countByStudent(idle));
+        assertTrue(insightRepository.findFirstByStudentOrderByCreatedAtDesc(first).getMessage()
+                .startsWith("You most often log meals feeling stressed; 1 of 1"));
+        InsightJobCheckpoint checkpoint = checkpointRepository.findById(InsightPrecomputeJob.JOB_NAME).orElseThrow();
+        assertEquals(LocalDate.now(), checkpoint.getRunDate());
+        assertNotNull(checkpoint.getCompletedAt());
+
+        // Interrupted run: the checkpoint says the earlier of the two students is done
+        List<UUID> order = foodLogRepository.findActiveStudentIds(LocalDateTime.now().minusDays(1), new UUID(0, 0), Pageable.unpaged())
+                .stream().filter(id -> id.equals(first.getId()) || id.equals(second.getId())).toList();
+        Student done = studentRepository.findById(order.get(0)).orElseThrow();
+        Student pending = studentRepository.findById(order.get(1)).orElseThrow();
+        insightRepository.deleteAll(insightRepository.findByStudentOrderByCreatedAtDesc(done));
+        insightRepository.deleteAll(insightRepository.findByStudentOrderByCreatedAtDesc(pending));
+        checkpoint.setLastStudentId(done.getId());
+        checkpoint.setCompletedAt(null);
+        checkpointRepository.save(checkpoint);
+
+        insightPrecomputeJob.precomputeAll();
+
+        assertEquals(0, insightRepository.countByStudent(done));
+        assertEquals(1, insightRepository.countByStudent(pending));
+        assertNotNull(checkpointRepository.findById(InsightPrecomputeJob.JOB_NAME).orElseThrow().getCompletedAt());
+    }
+}
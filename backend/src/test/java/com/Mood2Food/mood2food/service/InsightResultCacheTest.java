@@ -0,0 +1,51 @@
+package com.Mood2Food.mood2food.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InsightResultCacheTest {
+
+    @Test
+    void servesResultsUntilTheStudentsDataChanges() {
+        StudentDataVersion versions = new StudentDataVersion();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InsightResultCache cache = new InsightResultCache();
+        ReflectionTestUtils.setField(cache, "studentDataVersion", versions);
+        ReflectionTestUtils.setField(cache, "meterRegistry", registry);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.init();
+
+        UUID studentId = UUID.randomUUID();
+        AtomicInteger computed = new AtomicInteger();
+        cache.get("patterns", studentId, () -> Map.of("run", computed.incrementAndGet()));
+        assertEquals(Map.of("run", 1), cache.get("patterns", studentId, () -> Map.of("run", computed.incrementAndGet())));
+
+        // A write inside a transaction only counts once it commits
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(studentId);
+            assertEquals(Map.of("run", 1), cache.get("patterns", studentId, () -> Map.of("run", computed.incrementAndGet())));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(Map.of("run", 2), cache.get("patterns", studentId, () -> Map.of("run", computed.incrementAndGet())));
+
+        // Bounded: the least recently used entry goes first
+        cache.get("patterns", UUID.randomUUID(), Map::of);
+        cache.get("patterns", UUID.randomUUID(), Map::of);
+        assertEquals(2, cache.size());
+
+        assertEquals(2, registry.counter("insights.cache.hits").count());
+        assertEquals(4, registry.counter("insights.cache.misses").count());
+    }
+}
@@ -0,0 +1,73 @@
+package com.Mood2Food.mood2food.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MlCircuitBreakerTest {
+
+    private static MlCircuitBreaker breaker(int halfOpenProbes) {
+        MlCircuitBreaker breaker = new MlCircuitBreaker();
+        ReflectionTestUtils.setField(breaker, "windowSize", 4);
+        ReflectionTestUtils.setField(breaker, "minimumCalls", 2);
+        ReflectionTestUtils.setField(breaker, "failureRateThreshold", 50);
+        ReflectionTestUtils.setField(breaker, "slowCallMs", 8000L);
+        ReflectionTestUtils.setField(breaker, "slowCallRateThreshold", 80);
+        ReflectionTestUtils.setField(breaker, "openDurationMs", 0L);
+        ReflectionTestUtils.setField(breaker, "halfOpenProbes", halfOpenProbes);
+        breaker.init();
+        return breaker;
+    }
+
+    private static void open(MlCircuitBreaker breaker) {
+        for (int i = 0; i < 2; i++) {
+            breaker.onFailure(breaker.tryAcquirePermission(), 10);
+        }
+        assertEquals(MlCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void releasedProbeFreesItsSlot() {
+        MlCircuitBreaker breaker = breaker(1);
+        open(breaker);
+
+        // Cool-down elapsed: one probe is let through, and the next caller waits
+        MlCircuitBreaker.Permission probe = breaker.tryAcquirePermission();
+        assertNotNull(probe);
+        assertEquals(MlCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquirePermission());
+
+        // The probe failed before reaching the ML service
+        breaker.release(probe);
+        assertEquals(MlCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(breaker.tryAcquirePermission(), 10);
+        assertEquals(MlCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void lateClosedPeriodResultsDoNotCountAsProbes() {
+        MlCircuitBreaker breaker = breaker(2);
+        MlCircuitBreaker.Permission late = breaker.tryAcquirePermission();
+        MlCircuitBreaker.Permission lateSlow = breaker.tryAcquirePermission();
+        open(breaker);
+
+        MlCircuitBreaker.Permission first = breaker.tryAcquirePermission();
+        MlCircuitBreaker.Permission second = breaker.tryAcquirePermission();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(breaker.tryAcquirePermission());
+
+        // Neither frees a probe slot, counts towards closing, nor reopens the circuit
+        breaker.onSuccess(late, 10);
+        assertNull(breaker.tryAcquirePermission());
+        breaker.onSuccess(first, 10);
+        breaker.onFailure(lateSlow, 9000);
+        assertEquals(MlCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(second, 10);
+        assertEquals(MlCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
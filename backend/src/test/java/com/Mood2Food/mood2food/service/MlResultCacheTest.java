@@ -0,0 +1,49 @@
+package com.Mood2Food.mood2food.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MlResultCacheTest {
+
+    private static MlResultCache cache(int maxEntries) {
+        MlResultCache cache = new MlResultCache();
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        return cache;
+    }
+
+    @Test
+    void invalidateDropsOnlyThatStudent() {
+        MlResultCache cache = cache(100);
+        UUID student = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get("user-patterns", student, () -> "patterns " + calls.incrementAndGet());
+            cache.get("learning-stats", student, () -> "stats " + calls.incrementAndGet());
+            cache.get("user-patterns", other, () -> "other " + calls.incrementAndGet());
+        }
+        assertEquals(3, calls.get());
+
+        cache.invalidate(student);
+        assertEquals("patterns 4", cache.get("user-patterns", student, () -> "patterns " + calls.incrementAndGet()));
+        assertEquals("stats 5", cache.get("learning-stats", student, () -> "stats " + calls.incrementAndGet()));
+        assertEquals("other 3", cache.get("user-patterns", other, () -> "other " + calls.incrementAndGet()));
+    }
+
+    @Test
+    void staysWithinTheEntryBudget() {
+        MlResultCache cache = cache(2);
+        for (int i = 0; i < 5; i++) {
+            cache.get("user-patterns", UUID.randomUUID(), () -> "patterns");
+        }
+        assertTrue(((AtomicInteger) ReflectionTestUtils.getField(cache, "size")).get() <= 2);
+    }
+}
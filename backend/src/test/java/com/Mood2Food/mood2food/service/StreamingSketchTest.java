@@ -0,0 +1,80 @@
+package com.Mood2Food.mood2food.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingSketchTest {
+
+    private static List<String> items(List<SpaceSavingSketch.Counter> counters) {
+        return counters.stream().map(SpaceSavingSketch.Counter::item).toList();
+    }
+
+    @Test
+    void spaceSavingKeepsHeavyHittersAcrossMerges() {
+        SpaceSavingSketch first = new SpaceSavingSketch(10);
+        SpaceSavingSketch second = new SpaceSavingSketch(10);
+        for (int i = 0; i < 1000; i++) {
+            SpaceSavingSketch sketch = i % 2 == 0 ? first : second;
+            sketch.offer("pizza", 1);
+            if (i % 2 == 0) {
+                sketch.offer("ramen", 1);
+            }
+            if (i % 4 == 0) {
+                sketch.offer("salad", 1);
+            }
+            sketch.offer("one-off-" + i, 1);
+        }
+        assertEquals(List.of("pizza", "ramen", "salad"), items(first.top(3)));
+
+        first.merge(second);
+        List<SpaceSavingSketch.Counter> top = first.top(3);
+        assertEquals(List.of("pizza", "ramen", "salad"), items(top));
+        // Overestimates by at most the recorded error
+        assertTrue(top.get(0).count() >= 1000 && top.get(0).count() - top.get(0).error() <= 1000);
+    }
+
+    @Test
+    void hyperLogLogEstimatesAndMergesDistinctCounts() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 10000; i++) {
+            first.add(new UUID(0x1234L, i));
+            // Repeats don't count
+            first.add(new UUID(0x1234L, i));
+            second.add(new UUID(0x1234L, i + 5000));
+        }
+        assertEquals(10000, first.estimate(), 10000 * 0.05);
+
+        first.merge(new HyperLogLog(second.getRegisters()));
+        assertEquals(15000, first.estimate(), 15000 * 0.05);
+    }
+
+    @Test
+    void windowsExpireOldBucketsAndCombineWithPeers() {
+        TrendingSketches sketches = new TrendingSketches(20, 2);
+        long now = 1_700_000_000_000L;
+        UUID student = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            sketches.record(student, "Bagel ", "happy", now - 2 * 60 * 60_000L);
+            sketches.record(UUID.randomUUID(), "noodles", "stressed", now);
+        }
+
+        TrendingSketches.Sketch hour = sketches.merged(TrendingSketches.Window.HOUR, now);
+        Map<String, Object> lastHour = sketches.summarize(TrendingSketches.Window.HOUR, 5, hour, List.of());
+        assertEquals(List.of(Map.of("item", "noodles", "count", 3L)), lastHour.get("topFoods"));
+        assertEquals(3L, lastHour.get("activeStudents"));
+
+        TrendingSketches.State peer = sketches.merged(TrendingSketches.Window.DAY, now).toState();
+        Map<String, Object> combined = sketches.summarize(TrendingSketches.Window.DAY, 5,
+                sketches.merged(TrendingSketches.Window.DAY, now), List.of(peer));
+        assertEquals(List.of(Map.of("item", "bagel", "count", 6L), Map.of("item", "noodles", "count", 6L)),
+                combined.get("topFoods"));
+        assertEquals(4L, combined.get("activeStudents"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.Mood2Food.mood2food.service;
+
+import com.Mood2Food.mood2food.TestFixtures;
+import com.Mood2Food.mood2food.dto.FoodLogRequest;
+import com.Mood2Food.mood2food.dto.TriggerLogRequest;
+import com.Mood2Food.mood2food.entity.FoodLog;
+import com.Mood2Food.mood2food.entity.Student;
+import com.Mood2Food.mood2food.entity.TriggerLog;
+import com.Mood2Food.mood2food.entity.VocabularyTerm;
+import com.Mood2Food.mood2food.repository.FoodLogRepository;
+import com.Mood2Food.mood2food.repository.StudentRepository;
+import com.Mood2Food.mood2food.repository.TriggerLogRepository;
+import com.Mood2Food.mood2food.repository.VocabularyTermRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VocabularyTest {
+
+    @Autowired
+    private Vocabulary vocabulary;
+
+    @Autowired
+    private FoodLogService foodLogService;
+
+    @Autowired
+    private TriggerLogService triggerLogService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private FoodLogRepository foodLogRepository;
+
+    @Autowired
+    private TriggerLogRepository triggerLogRepository;
+
+    @Test
+    void caseVariantsShareOneCode() {
+        Student saved = TestFixtures.student(studentRepository, "vocabulary@test.com");
+
+        for (String emotion : List.of("Sad", " sad ", "SAD", "Happy")) {
+            FoodLogRequest request = TestFixtures.request("toast", LocalDateTime.of(2025, 3, 10, 12, 0));
+            request.setMealType(" Snack");
+            request.setEmotionDescription(emotion);
+            foodLogService.createFoodLog(saved.getId(), request);
+        }
+        triggerLogService.saveTriggerLog(saved.getId(), new TriggerLogRequest("sAd", "exam", 7));
+
+        List<FoodLog> foodLogs = foodLogRepository.findByStudentOrderByEatingTimeDesc(saved);
+        Short sad = vocabulary.encode(Vocabulary.Kind.EMOTION, "sad");
+        assertNotNull(sad);
+        assertNotEquals(sad, vocabulary.encode(Vocabulary.Kind.EMOTION, "happy"));
+        assertEquals(3, foodLogs.stream().filter(log -> sad.equals(log.getEmotionCode())).count());
+        assertEquals("sad", vocabulary.decode(Vocabulary.Kind.EMOTION, sad));
+        foodLogs.forEach(log -> assertEquals("snack", log.getMealType()));
+
+        TriggerLog triggerLog = triggerLogRepository.findByStudentId(saved.getId()).get(0);
+        assertEquals("sad", triggerLog.getEmotion());
+        assertEquals(sad, triggerLog.getEmotionCode());
+
+        // Counts merge by code, and lookups by any spelling find the normalized rows
+        assertEquals(Map.of("sad", 3L, "happy", 1L), FoodLogFeatures.of(foodLogs).getEmotionCounts());
+        assertEquals(3, foodLogService.getFoodLogsByEmotion(saved.getId(), "Sad").size());
+        assertNull(vocabulary.encode(Vocabulary.Kind.MEAL_TYPE, null));
+    }
+
+    private static VocabularyTerm term(short id, String value) {
+        VocabularyTerm term = new VocabularyTerm();
+        term.setId(id);
+        term.setKind("emotion");
+        term.setTerm(value);
+        return term;
+    }
+
+    @Test
+    void collationAliasesDoNotUseUpTheCap() {
+        VocabularyTermRepository repository = mock(VocabularyTermRepository.class);
+        Vocabulary capped = new Vocabulary(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(capped, "vocabularyTermRepository", repository);
+        ReflectionTestUtils.setField(capped, "maxTermsPerKind", 2);
+        when(repository.saveAndFlush(any()))
+                .thenReturn(term((short) 1, "cafe"))
+                .thenThrow(new DataIntegrityViolationException("uk_vocabulary_terms_kind_term"))
+                .thenReturn(term((short) 2, "tea"));
+        // The database collation treats "café" as "cafe"
+        when(repository.findByKindAndTerm("emotion", "café")).thenReturn(Optional.of(term((short) 1, "cafe")));
+
+        assertEquals((short) 1, capped.encode(Vocabulary.Kind.EMOTION, "cafe"));
+        assertEquals((short) 1, capped.encode(Vocabulary.Kind.EMOTION, "café"));
+        assertEquals((short) 2, capped.encode(Vocabulary.Kind.EMOTION, "tea"));
+        assertNull(capped.encode(Vocabulary.Kind.EMOTION, "chai"));
+    }
+}
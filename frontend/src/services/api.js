@@ -54,6 +54,7 @@ export const dashboardAPI = {
 export const chatAPI = {
   sendMessage: (message) => api.post('/api/chat/message', { message }),
   getChatHistory: () => api.get('/api/chat/history'),
+  getChatHistoryPage: (params) => api.get('/api/chat/history/page', { params }),
   sendFeedback: (feedbackData) => api.post('/api/chat/feedback', feedbackData),
   getLearningStats: () => api.get('/api/chat/learning-stats'),
 };
@@ -81,6 +82,10 @@ export const insightAPI = {
 export const foodLogAPI = {
   createFoodLog: (foodLogData) => api.post('/api/food-logs', foodLogData),
   getFoodLogs: () => api.get('/api/food-logs'),
+  getFoodLogPage: (params) => api.get('/api/food-logs/page', { params }),
+  syncFoodLogs: (since, limit) => api.get('/api/food-logs/sync', { params: { since, limit } }),
+  suggestFoodLogValues: (field, prefix, limit) => api.get('/api/food-logs/suggest', { params: { field, prefix, limit } }),
+  importFoodLogs: (data, contentType) => api.post('/api/food-logs/import', data, { headers: { 'Content-Type': contentType } }),
   getTodayFoodLogs: () => api.get('/api/food-logs/today'),
   getFoodLogsByDate: (date) => api.get(`/api/food-logs/date/${date}`),
   getFoodLogsByMealType: (mealType) => api.get(`/api/food-logs/meal-type/${mealType}`),
@@ -94,6 +99,7 @@ export const foodLogAPI = {
 // Food Insights API
 export const foodInsightsAPI = {
   getEmotionalEatingPatterns: () => api.get('/api/food-insights/patterns'),
+  getWindowPatterns: (days = 30) => api.get('/api/food-insights/window', { params: { days } }),
   getRecentFoodInsights: () => api.get('/api/food-insights/recent'),
 };
 
@@ -112,6 +118,16 @@ export const reportsAPI = {
   downloadPDF: () => api.get('/api/reports/download/pdf', { responseType: 'blob' }),
 };
 
+// Trending API
+export const trendingAPI = {
+  getTrending: (window = 'hour', limit = 10) => api.get('/api/trending', { params: { window, limit } }),
+};
+
+// Cohort Analytics API (counselors only)
+export const cohortAnalyticsAPI = {
+  getSnapshot: () => api.get('/api/analytics/cohort'),
+};
+
 // ML API - Direct calls to ML service
 export const mlAPI = {
   classifyEmotion: async (reason) => {